@@ -5,7 +5,6 @@ import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
@@ -18,6 +17,7 @@ public class CartPage {
     public static final String INVENTORY_ITEM_NAME = "inventory_item_name";
     private final WebDriver driver;
     private final WebDriverWait wait;
+    private final ElementCache elements;
 
     // Locators
     private final By cartTitle = By.className("title");
@@ -32,13 +32,13 @@ public class CartPage {
     public CartPage(WebDriver driver) {
         this.driver = driver;
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-        PageFactory.initElements(driver, this);
+        this.elements = new ElementCache(driver, wait);
         logger.info("CartPage initialized");
     }
 
     public boolean isCartPageDisplayed() {
         try {
-            WebElement title = wait.until(ExpectedConditions.visibilityOfElementLocated(cartTitle));
+            WebElement title = elements.visible(cartTitle);
             return title.getText().equals("Your Cart");
         } catch (Exception e) {
             logger.debug("Cart page not displayed");
@@ -62,6 +62,7 @@ public class CartPage {
             if (nameElement.getText().equals(productName)) {
                 WebElement removeButton = item.findElement(By.cssSelector("button[data-test*='remove']"));
                 removeButton.click();
+                elements.clear();
                 logger.info("Successfully removed {} from cart", productName);
                 return;
             }
@@ -72,8 +73,7 @@ public class CartPage {
 
     public CheckoutPage clickCheckout() {
         logger.info("Clicking checkout button");
-        WebElement checkoutBtn = wait.until(ExpectedConditions.elementToBeClickable(checkoutButton));
-        checkoutBtn.click();
+        elements.click(checkoutButton);
 
         logger.info("Navigating to checkout page");
         return new CheckoutPage(driver);
@@ -5,8 +5,6 @@ import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
@@ -15,6 +13,9 @@ public class CheckoutCompletePage {
     private static final Logger logger = LogManager.getLogger(CheckoutCompletePage.class);
     private final WebDriver driver;
     private final WebDriverWait wait;
+    private final ElementCache elements;
+    // Set once the title check passed; the rest of the page is then read without polling waits
+    private boolean pageDisplayed;
 
     // Locators
     private final By completeTitle = By.className("title");
@@ -25,14 +26,15 @@ public class CheckoutCompletePage {
     public CheckoutCompletePage(WebDriver driver) {
         this.driver = driver;
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-        PageFactory.initElements(driver, this);
+        this.elements = new ElementCache(driver, wait);
         logger.info("CheckoutCompletePage initialized");
     }
 
     public boolean isCheckoutCompletePageDisplayed() {
         try {
-            WebElement title = wait.until(ExpectedConditions.visibilityOfElementLocated(completeTitle));
-            return title.getText().equals("Checkout: Complete!");
+            WebElement title = elements.visible(completeTitle);
+            pageDisplayed = title.getText().equals("Checkout: Complete!");
+            return pageDisplayed;
         } catch (Exception e) {
             logger.debug("Checkout complete page not displayed");
             return false;
@@ -40,23 +42,21 @@ public class CheckoutCompletePage {
     }
 
     public String getCompleteHeader() {
-        WebElement headerElement = wait.until(ExpectedConditions.visibilityOfElementLocated(completeHeader));
-        String header = headerElement.getText();
+        String header = pageDisplayed ? elements.text(completeHeader) : elements.visible(completeHeader).getText();
         logger.info("Complete header: {}", header);
         return header;
     }
 
     public String getCompleteText() {
-        WebElement textElement = wait.until(ExpectedConditions.visibilityOfElementLocated(completeText));
-        String text = textElement.getText();
+        String text = pageDisplayed ? elements.text(completeText) : elements.visible(completeText).getText();
         logger.info("Complete text: {}", text);
         return text;
     }
 
     public void clickBackHome() {
         logger.info("Clicking back home button");
-        WebElement backHomeBtn = wait.until(ExpectedConditions.elementToBeClickable(backHomeButton));
-        backHomeBtn.click();
+        elements.click(backHomeButton);
+        pageDisplayed = false;
 
         logger.info("Navigating back to products page");
         new ProductsPage(driver);
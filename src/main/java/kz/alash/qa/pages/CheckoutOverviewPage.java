@@ -5,7 +5,6 @@ import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
@@ -16,6 +15,7 @@ public class CheckoutOverviewPage {
     private static final Logger logger = LogManager.getLogger(CheckoutOverviewPage.class);
     private final WebDriver driver;
     private final WebDriverWait wait;
+    private final ElementCache elements;
 
     // Locators
     private final By overviewTitle = By.className("title");
@@ -25,13 +25,13 @@ public class CheckoutOverviewPage {
     public CheckoutOverviewPage(WebDriver driver) {
         this.driver = driver;
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-        PageFactory.initElements(driver, this);
+        this.elements = new ElementCache(driver, wait);
         logger.info("CheckoutOverviewPage initialized");
     }
 
     public boolean isCheckoutOverviewPageDisplayed() {
         try {
-            WebElement title = wait.until(ExpectedConditions.visibilityOfElementLocated(overviewTitle));
+            WebElement title = elements.visible(overviewTitle);
             return title.getText().equals("Checkout: Overview");
         } catch (Exception e) {
             logger.debug("Checkout overview page not displayed");
@@ -47,8 +47,7 @@ public class CheckoutOverviewPage {
 
     public CheckoutCompletePage clickFinish() {
         logger.info("Clicking finish button");
-        WebElement finishBtn = wait.until(ExpectedConditions.elementToBeClickable(finishButton));
-        finishBtn.click();
+        elements.click(finishButton);
 
         logger.info("Completing checkout process");
         return new CheckoutCompletePage(driver);
@@ -5,8 +5,6 @@ import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
@@ -15,45 +13,46 @@ public class CheckoutPage {
     private static final Logger logger = LogManager.getLogger(CheckoutPage.class);
     private final WebDriver driver;
     private final WebDriverWait wait;
+    private final ElementCache elements;
 
     // Locators
     private final By firstNameField = By.id("first-name");
     private final By lastNameField = By.id("last-name");
     private final By postalCodeField = By.id("postal-code");
     private final By continueButton = By.id("continue");
+    private final By errorMessage = By.cssSelector("[data-test='error']");
 
     public CheckoutPage(WebDriver driver) {
         this.driver = driver;
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-        PageFactory.initElements(driver, this);
+        this.elements = new ElementCache(driver, wait);
         logger.info("CheckoutPage initialized");
     }
 
     public void enterFirstName(String firstName) {
         logger.info("Entering first name: {}", firstName);
-        WebElement firstNameElement = wait.until(ExpectedConditions.elementToBeClickable(firstNameField));
+        WebElement firstNameElement = elements.clickable(firstNameField);
         firstNameElement.clear();
         firstNameElement.sendKeys(firstName);
     }
 
     public void enterLastName(String lastName) {
         logger.info("Entering last name: {}", lastName);
-        WebElement lastNameElement = wait.until(ExpectedConditions.elementToBeClickable(lastNameField));
+        WebElement lastNameElement = elements.clickable(lastNameField);
         lastNameElement.clear();
         lastNameElement.sendKeys(lastName);
     }
 
     public void enterPostalCode(String postalCode) {
         logger.info("Entering postal code: {}", postalCode);
-        WebElement postalCodeElement = wait.until(ExpectedConditions.elementToBeClickable(postalCodeField));
+        WebElement postalCodeElement = elements.clickable(postalCodeField);
         postalCodeElement.clear();
         postalCodeElement.sendKeys(postalCode);
     }
 
     public CheckoutOverviewPage clickContinue() {
         logger.info("Clicking continue button on checkout page");
-        WebElement continueBtn = wait.until(ExpectedConditions.elementToBeClickable(continueButton));
-        continueBtn.click();
+        elements.click(continueButton);
 
         logger.info("Navigating to checkout overview page");
         return new CheckoutOverviewPage(driver);
@@ -65,4 +64,21 @@ public class CheckoutPage {
         enterPostalCode(postalCode);
         return clickContinue();
     }
+
+    public String getErrorMessage() {
+        WebElement errorElement = elements.visible(errorMessage);
+        String errorText = errorElement.getText();
+        logger.info("Checkout error message displayed: {}", errorText);
+        return errorText;
+    }
+
+    public boolean isErrorMessageDisplayed() {
+        try {
+            elements.visible(errorMessage);
+            return true;
+        } catch (Exception e) {
+            logger.debug("Checkout error message not displayed");
+            return false;
+        }
+    }
 }
\ No newline at end of file
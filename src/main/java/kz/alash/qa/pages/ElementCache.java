@@ -0,0 +1,88 @@
+package kz.alash.qa.pages;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolved element handles of one page object, keyed by locator. A cached handle is revalidated
+ * with a single state call instead of a new lookup; it is resolved again through the page's wait
+ * when it has gone stale (e.g. the browser navigated away) or is not in the required state.
+ * Clicks and page loads clear the cache, since they may re-render or replace the page.
+ * Lists are not cached: their size is what callers usually check.
+ */
+class ElementCache {
+    private static final Logger logger = LogManager.getLogger(ElementCache.class);
+    private final WebDriver driver;
+    private final WebDriverWait wait;
+    private final Map<By, WebElement> elements = new HashMap<>();
+
+    ElementCache(WebDriver driver, WebDriverWait wait) {
+        this.driver = driver;
+        this.wait = wait;
+    }
+
+    /**
+     * Text of an element on a page already confirmed as loaded: read from the cached handle, or
+     * after a single findElement without polling. A stale handle falls back to the visibility wait.
+     */
+    String text(By locator) {
+        WebElement element = elements.get(locator);
+        if (element == null) {
+            element = driver.findElement(locator);
+            elements.put(locator, element);
+        }
+        try {
+            return element.getText();
+        } catch (StaleElementReferenceException e) {
+            logger.debug("Cached element is stale, locating again: {}", locator);
+            elements.remove(locator);
+            return visible(locator).getText();
+        }
+    }
+
+    WebElement visible(By locator) {
+        WebElement element = elements.get(locator);
+        try {
+            if (element != null && element.isDisplayed()) {
+                return element;
+            }
+        } catch (StaleElementReferenceException e) {
+            logger.debug("Cached element is stale, locating again: {}", locator);
+        }
+        element = wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        elements.put(locator, element);
+        return element;
+    }
+
+    WebElement clickable(By locator) {
+        WebElement element = elements.get(locator);
+        try {
+            if (element != null && element.isDisplayed() && element.isEnabled()) {
+                return element;
+            }
+        } catch (StaleElementReferenceException e) {
+            logger.debug("Cached element is stale, locating again: {}", locator);
+        }
+        element = wait.until(ExpectedConditions.elementToBeClickable(locator));
+        elements.put(locator, element);
+        return element;
+    }
+
+    void click(By locator) {
+        clickable(locator).click();
+        clear();
+    }
+
+    void clear() {
+        elements.clear();
+    }
+}
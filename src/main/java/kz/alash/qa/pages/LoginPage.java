@@ -5,7 +5,6 @@ import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
@@ -15,9 +14,10 @@ public class LoginPage {
     private static final Logger logger = LogManager.getLogger(LoginPage.class);
     private final WebDriver driver;
     private final WebDriverWait wait;
+    private final ElementCache elements;
 
     // Page URL
-    private static final String URL = "https://www.saucedemo.com/";
+    public static final String URL = "https://www.saucedemo.com/";
 
     // Locators
     private final By usernameField = By.id("user-name");
@@ -28,18 +28,19 @@ public class LoginPage {
     public LoginPage(WebDriver driver) {
         this.driver = driver;
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-        PageFactory.initElements(driver, this);
+        this.elements = new ElementCache(driver, wait);
         logger.info("LoginPage initialized");
     }
 
     public void navigateToLoginPage() {
         logger.info("Navigating to SauceDemo login page: {}", URL);
         driver.get(URL);
+        elements.clear();
         try {
             // Wait for page to load by checking title first
             wait.until(ExpectedConditions.titleContains("Swag Labs"));
             // Then wait for username field
-            wait.until(ExpectedConditions.visibilityOfElementLocated(usernameField));
+            elements.visible(usernameField);
             logger.info("Login page loaded successfully");
         } catch (Exception e) {
             logger.error("Failed to load login page, checking page source...");
@@ -58,22 +59,21 @@ public class LoginPage {
 
     public void enterUsername(String username) {
         logger.info("Entering username: {}", username);
-        WebElement usernameElement = wait.until(ExpectedConditions.elementToBeClickable(usernameField));
+        WebElement usernameElement = elements.clickable(usernameField);
         usernameElement.clear();
         usernameElement.sendKeys(username);
     }
 
     public void enterPassword(String password) {
         logger.info("Entering password: {}", password);
-        WebElement passwordElement = wait.until(ExpectedConditions.elementToBeClickable(passwordField));
+        WebElement passwordElement = elements.clickable(passwordField);
         passwordElement.clear();
         passwordElement.sendKeys(password);
     }
 
     public ProductsPage clickLoginButton() {
         logger.info("Clicking login button");
-        WebElement loginBtn = wait.until(ExpectedConditions.elementToBeClickable(loginButton));
-        loginBtn.click();
+        elements.click(loginButton);
 
         // Wait for products page to load
         wait.until(ExpectedConditions.urlContains("inventory.html"));
@@ -83,8 +83,7 @@ public class LoginPage {
 
     public void clickLoginButtonWithoutWait() {
         logger.info("Clicking login button (without waiting for navigation)");
-        WebElement loginBtn = wait.until(ExpectedConditions.elementToBeClickable(loginButton));
-        loginBtn.click();
+        elements.click(loginButton);
         logger.info("Login button clicked");
     }
 
@@ -95,7 +94,7 @@ public class LoginPage {
     }
 
     public String getErrorMessage() {
-        WebElement errorElement = wait.until(ExpectedConditions.visibilityOfElementLocated(errorMessage));
+        WebElement errorElement = elements.visible(errorMessage);
         String errorText = errorElement.getText();
         logger.info("Error message displayed: {}", errorText);
         return errorText;
@@ -103,7 +102,8 @@ public class LoginPage {
 
     public boolean isErrorMessageDisplayed() {
         try {
-            return wait.until(ExpectedConditions.visibilityOfElementLocated(errorMessage)).isDisplayed();
+            elements.visible(errorMessage);
+            return true;
         } catch (Exception e) {
             logger.debug("Error message not displayed");
             return false;
@@ -112,7 +112,8 @@ public class LoginPage {
 
     public boolean isLoginPageDisplayed() {
         try {
-            return wait.until(ExpectedConditions.visibilityOfElementLocated(usernameField)).isDisplayed();
+            elements.visible(usernameField);
+            return true;
         } catch (Exception e) {
             logger.debug("Login page not displayed");
             return false;
@@ -5,7 +5,6 @@ import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
@@ -16,6 +15,7 @@ public class ProductsPage {
     private static final Logger logger = LogManager.getLogger(ProductsPage.class);
     private final WebDriver driver;
     private final WebDriverWait wait;
+    private final ElementCache elements;
 
     // Locators
     private final By productsTitle = By.className("title");
@@ -28,13 +28,13 @@ public class ProductsPage {
     public ProductsPage(WebDriver driver) {
         this.driver = driver;
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-        PageFactory.initElements(driver, this);
+        this.elements = new ElementCache(driver, wait);
         logger.info("ProductsPage initialized");
     }
 
     public boolean isProductsPageDisplayed() {
         try {
-            WebElement title = wait.until(ExpectedConditions.visibilityOfElementLocated(productsTitle));
+            WebElement title = elements.visible(productsTitle);
             return title.getText().equals("Products");
         } catch (Exception e) {
             logger.debug("Products page not displayed");
@@ -50,15 +50,14 @@ public class ProductsPage {
 
     public void addFirstProductToCart() {
         logger.info("Adding first product to cart");
-        WebElement firstAddButton = wait.until(ExpectedConditions.elementToBeClickable(addToCartButtons));
-        firstAddButton.click();
+        elements.click(addToCartButtons);
         logger.info("First product added to cart successfully");
     }
 
 
     public String getCartBadgeCount() {
         try {
-            WebElement badge = wait.until(ExpectedConditions.visibilityOfElementLocated(shoppingCartBadge));
+            WebElement badge = elements.visible(shoppingCartBadge);
             String count = badge.getText();
             logger.info("Cart badge shows count: {}", count);
             return count;
@@ -70,15 +69,14 @@ public class ProductsPage {
 
     public CartPage clickShoppingCart() {
         logger.info("Clicking shopping cart link");
-        WebElement cartLink = wait.until(ExpectedConditions.elementToBeClickable(shoppingCartLink));
-        cartLink.click();
+        elements.click(shoppingCartLink);
 
         logger.info("Navigating to cart page");
         return new CartPage(driver);
     }
 
     public String getFirstProductName() {
-        WebElement firstProduct = wait.until(ExpectedConditions.visibilityOfElementLocated(inventoryItemNames));
+        WebElement firstProduct = elements.visible(inventoryItemNames);
         return firstProduct.getText();
     }
 }
\ No newline at end of file
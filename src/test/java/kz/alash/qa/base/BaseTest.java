@@ -6,73 +6,140 @@ import com.aventstack.extentreports.MediaEntityBuilder;
 import com.aventstack.extentreports.Status;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import io.github.bonigarcia.wdm.WebDriverManager;
+import kz.alash.qa.data.RecordOutcomeLog;
+import kz.alash.qa.network.HarRecorder;
+import kz.alash.qa.retry.RetryAnalyzer;
+import kz.alash.qa.selection.PageObjectUsageRecorder;
+import kz.alash.qa.selection.TestImpactCache;
+import kz.alash.qa.visual.VisualCheck;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.testng.Assert;
 import org.testng.ITestResult;
+import org.testng.Reporter;
 import org.testng.annotations.*;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public class BaseTest {
     protected static final Logger logger = LogManager.getLogger(BaseTest.class);
-    protected WebDriver driver;
     protected static ExtentReports extent;
-    protected ExtentTest test;
+
+    // Per-thread state so tests can run in parallel on a shared class instance
+    private static final ThreadLocal<WebDriver> driverHolder = new ThreadLocal<>();
+    private static final ThreadLocal<ExtentTest> testHolder = new ThreadLocal<>();
+    private static final ThreadLocal<String> browserHolder = new ThreadLocal<>();
+    private static final ThreadLocal<HarRecorder> harHolder = new ThreadLocal<>();
+
+    // Sessions kept alive after a failed attempt so the retry can skip the browser launch
+    private static final ThreadLocal<WebDriver> warmSessionHolder = new ThreadLocal<>();
+    private static final Set<WebDriver> warmSessions = ConcurrentHashMap.newKeySet();
+
+    // Driver binaries already resolved by WebDriverManager in this JVM
+    private static final Set<String> preparedBrowsers = new HashSet<>();
 
     private static final String REPORT_PATH = "test-output/ExtentReports/";
     private static final String SCREENSHOT_PATH = "test-output/Screenshots/";
+    private static final String HAR_PATH = "test-output/HAR/";
+    private static final String TEST_LOG_PATH = "logs/tests/";
+    private static final String TEST_LOG_KEY = "testLog";
+    // Per-test logs of one run share a directory, so earlier runs never append to them
+    private static final String RUN_ID = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
+    // Invocations per test and parameters in this run; repeats (retries) get their own log file
+    private static final Map<String, AtomicInteger> logInvocations = new ConcurrentHashMap<>();
+    // Only the suite's first browser launch is a startup phase
+    private static final AtomicBoolean firstSessionTimed = new AtomicBoolean();
 
     @BeforeSuite
     public void setupSuite() {
+        StartupProfiler.markSinceJvmStart("JVM start to suite setup");
         logger.info("=== Starting Test Suite Execution ===");
 
-        // Setup WebDriver
-        WebDriverManager.chromedriver().setup();
-
-        // Setup ExtentReports
-        setupExtentReports();
-
-        // Create directories for screenshots
-        createDirectories();
+        // Independent init phases run concurrently: WebDriver binary, directories for
+        // screenshots and class loading. ExtentReports is created lazily on first use.
+        CompletableFuture.allOf(
+            CompletableFuture.runAsync(() -> StartupProfiler.time("WebDriverManager setup", () -> prepareDriverBinary("chrome"))),
+            CompletableFuture.runAsync(() -> StartupProfiler.time("Create directories", this::createDirectories)),
+            CompletableFuture.runAsync(() -> StartupProfiler.time("Preload classes", BaseTest::preloadClasses))
+        ).join();
     }
 
     @BeforeMethod
-    @Parameters({"browser"})
-    public void setupTest(@Optional("chrome") String browser, ITestResult result) {
+    @Parameters({"browser", "isolation", "backend", "gridUrl"})
+    public void setupTest(@Optional("chrome") String browser, @Optional("process") String isolation,
+                          @Optional("local") String backend, @Optional("http://localhost:4444") String gridUrl,
+                          ITestResult result) {
+        // Route everything logged on this thread to the test's own log file until teardown
+        ThreadContext.put(TEST_LOG_KEY, invocationLogName(result, browser));
         logger.info("=== Setting up test: {} ===", result.getMethod().getMethodName());
 
-        // Initialize WebDriver based on browser parameter
-        if ("firefox".equalsIgnoreCase(browser)) {
-            WebDriverManager.firefoxdriver().setup();
-            FirefoxOptions options = new FirefoxOptions();
-            options.addArguments("--headless");
-            driver = new FirefoxDriver(options);
+        // Initialize WebDriver based on browser parameter, reusing a session parked by a failed attempt
+        WebDriver warmSession = takeWarmSession(browser);
+        if (warmSession != null) {
+            driverHolder.set(warmSession);
+            logger.info("Reusing warm browser session after reset");
+        } else if (firstSessionTimed.compareAndSet(false, true)) {
+            driverHolder.set(StartupProfiler.time("First browser session", () -> createDriver(browser, isolation, backend, gridUrl)));
         } else {
-            ChromeOptions options = new ChromeOptions();
-            options.addArguments("--headless");
-            options.addArguments("--disable-gpu");
-            options.addArguments("--window-size=1920,1080");
-            options.addArguments("--no-sandbox");
-            options.addArguments("--disable-dev-shm-usage");
-            driver = new ChromeDriver(options);
+            driverHolder.set(createDriver(browser, isolation, backend, gridUrl));
         }
 
-        // Create ExtentTest instance
-        test = extent.createTest(result.getMethod().getMethodName());
+        // Optional network recording (-Dhar=true), attached to the undecorated session
+        if (Boolean.getBoolean("har")) {
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss-SSS"));
+            Path harFile = Paths.get(HAR_PATH, testLogName(result.getMethod().getMethodName(), browser) + "_" + timestamp + ".har");
+            harHolder.set(HarRecorder.start(driverHolder.get(), harFile));
+        }
 
-        logger.info("WebDriver initialized successfully for browser: {}", browser);
+        // Record which page objects the test exercises for change-aware selection
+        TestImpactCache impactCache = TestImpactCache.getInstance();
+        if (impactCache.isEnabled()) {
+            PageObjectUsageRecorder recorder = new PageObjectUsageRecorder(impactCache.startRecording());
+            driverHolder.set(new EventFiringDecorator<>(recorder).decorate(driverHolder.get()));
+        }
+
+        // Create ExtentTest instance, grouped by browser so matrix runs share one report.
+        // Data-driven invocations are summarized per method at the end of the suite instead.
+        String browserName = browser.toLowerCase();
+        browserHolder.set(browserName);
+        if (!isDataDriven(result)) {
+            ExtentTest extentTest = getExtent().createTest(result.getMethod().getMethodName() + " [" + browserName + "]");
+            extentTest.assignDevice(browserName);
+            testHolder.set(extentTest);
+        }
+
+        logger.info("WebDriver initialized successfully for browser: {} (isolation: {}, backend: {})", browser, isolation, backend);
+        StartupProfiler.markFirstTest();
     }
 
     @AfterMethod
@@ -80,12 +147,19 @@ public class BaseTest {
         logger.info("=== Tearing down test: {} ===", result.getMethod().getMethodName());
 
         try {
-            if (result.getStatus() == ITestResult.FAILURE) {
+            String harPath = finishNetworkRecording(result);
+            ExtentTest test = getTest();
+            if (isDataDriven(result)) {
+                // Data-driven lane: records were written to the outcome log as they ran (see runRecords)
+                if (result.getStatus() == ITestResult.FAILURE) {
+                    logger.error("Data-driven lane failed: {}", result.getThrowable().getMessage());
+                }
+            } else if (result.getStatus() == ITestResult.FAILURE) {
                 logger.error("Test failed: {}", result.getThrowable().getMessage());
                 test.log(Status.FAIL, "Test Failed: " + result.getThrowable().getMessage());
 
                 // Capture screenshot on failure
-                String screenshotPath = captureScreenshot(result.getMethod().getMethodName());
+                String screenshotPath = captureScreenshot(result.getMethod().getMethodName() + "_" + browserHolder.get());
                 if (screenshotPath != null) {
                     test.fail("Screenshot captured", MediaEntityBuilder.createScreenCaptureFromPath(screenshotPath).build());
                 }
@@ -96,14 +170,32 @@ public class BaseTest {
                 logger.warn("Test was skipped");
                 test.log(Status.SKIP, "Test was skipped");
             }
+            // Only failing tests keep their HAR
+            if (test != null && harPath != null) {
+                test.info("Network log (HAR): <a href='" + Paths.get(harPath).toAbsolutePath().toUri() + "' target='_blank'>" + harPath + "</a>");
+            }
+            TestImpactCache.getInstance().finishRecording(result, browserHolder.get());
+            attachTestLog(test);
         } catch (Exception e) {
             logger.error("Error during test teardown: {}", e.getMessage());
         } finally {
-            // Close browser
-            if (driver != null) {
-                driver.quit();
-                logger.info("WebDriver closed successfully");
+            // Close browser (or dispose its browser context in context isolation mode)
+            WebDriver currentDriver = driverHolder.get();
+            if (currentDriver != null) {
+                // TestNG has already decided on a retry here: only an attempt that will be retried keeps
+                // its browser for the retry on this thread; a final failure or a pass closes it
+                if (result.wasRetried() && RetryAnalyzer.isEnabled()) {
+                    parkWarmSession(currentDriver);
+                } else {
+                    quitDriver(currentDriver);
+                    logger.info("WebDriver closed successfully");
+                }
             }
+            driverHolder.remove();
+            testHolder.remove();
+            harHolder.remove();
+            browserHolder.remove();
+            ThreadContext.remove(TEST_LOG_KEY);
         }
     }
 
@@ -111,13 +203,349 @@ public class BaseTest {
     public void tearDownSuite() {
         logger.info("=== Test Suite Execution Completed ===");
 
+        for (WebDriver warmSession : warmSessions) {
+            quitDriver(warmSession);
+        }
+        warmSessions.clear();
+        BrowserContextPool.shutdownIfStarted();
+        reportReplayedResults();
+        reportDataDrivenSummaries();
+
         if (extent != null) {
+            if (StartupProfiler.getSummary() != null) {
+                extent.setSystemInfo("Time to First Test", StartupProfiler.getSummary());
+            }
             extent.flush();
             logger.info("ExtentReports flushed successfully");
         }
     }
 
-    private void setupExtentReports() {
+    protected WebDriver getDriver() {
+        return driverHolder.get();
+    }
+
+    protected ExtentTest getTest() {
+        return testHolder.get();
+    }
+
+    /**
+     * Runs a check for every record the supplier hands out (until it returns null) on this test's
+     * browser session, which is reset between records. A failing record is retried in place
+     * (-Dretry.max, with backoff); only its final attempt writes a line to the method's outcome
+     * log. The invocation fails at the end if any record failed, or early if the session cannot be reset.
+     */
+    protected <T> void runRecords(Supplier<T> nextRecord, Consumer<T> check) {
+        String methodName = Reporter.getCurrentTestResult().getMethod().getMethodName();
+        RecordOutcomeLog outcomes = RecordOutcomeLog.forMethod(methodName, browserHolder.get());
+        List<String> failedRecords = new ArrayList<>();
+        int count = 0;
+
+        T record;
+        while ((record = nextRecord.get()) != null) {
+            count++;
+            long start = System.currentTimeMillis();
+            String resetFailure = null;
+            for (int retry = 0; ; retry++) {
+                try {
+                    check.accept(record);
+                    outcomes.record(String.valueOf(record), "PASS", System.currentTimeMillis() - start,
+                        retry == 0 ? null : "passed on retry " + retry);
+                    break;
+                } catch (AssertionError | RuntimeException e) {
+                    boolean retrying = retry < RetryAnalyzer.getMaxRetries() && sleepBeforeRecordRetry(record, retry + 1, e);
+                    if (retrying) {
+                        resetFailure = resetSessionForRecords(record);
+                    }
+                    if (!retrying || resetFailure != null) {
+                        failedRecords.add(String.valueOf(record));
+                        String error = describeRecordFailure(methodName, String.valueOf(record), e);
+                        outcomes.record(String.valueOf(record), "FAIL", System.currentTimeMillis() - start,
+                            resetFailure == null ? error : error + "; not retried, session reset failed: " + resetFailure);
+                        break;
+                    }
+                }
+            }
+            // Clean state for the next record
+            if (resetFailure == null) {
+                resetFailure = resetSessionForRecords(record);
+            }
+            // A session that cannot be reset ends this lane; the other lanes pick up the remaining records
+            if (resetFailure != null) {
+                Assert.fail("Session could not be reset after record " + record + ", stopping after " + count
+                    + " records (" + failedRecords.size() + " failed: " + failedRecords + "): " + resetFailure);
+            }
+        }
+
+        Assert.assertTrue(failedRecords.isEmpty(),
+            failedRecords.size() + " of " + count + " records failed: " + failedRecords);
+    }
+
+    private boolean sleepBeforeRecordRetry(Object record, int retry, Throwable failure) {
+        long delay = RetryAnalyzer.backoffMillis(retry);
+        logger.warn("Retrying record {} (attempt {} of {}) in {} ms after: {}",
+            record, retry, RetryAnalyzer.getMaxRetries(), delay, failure.getMessage());
+        try {
+            Thread.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // Returns null once the session is clean, otherwise why the reset failed
+    private String resetSessionForRecords(Object record) {
+        try {
+            resetSession(getDriver());
+            return null;
+        } catch (Exception e) {
+            logger.error("Session could not be reset after record {}: {}", record, e.getMessage());
+            return String.valueOf(e);
+        }
+    }
+
+    private WebDriver createDriver(String browser, String isolation, String backend, String gridUrl) {
+        if ("remote".equalsIgnoreCase(backend)) {
+            // The grid manages browser processes, so isolation and local driver binaries do not apply
+            RemoteGridBackend grid = RemoteGridBackend.getInstance(gridUrl);
+            return grid.newSession("firefox".equalsIgnoreCase(browser) ? createFirefoxOptions() : createChromeOptions());
+        }
+
+        if ("firefox".equalsIgnoreCase(browser)) {
+            if ("context".equalsIgnoreCase(isolation)) {
+                logger.warn("Context isolation is only supported for Chrome, starting a new Firefox process");
+            }
+            prepareDriverBinary("firefox");
+            return new FirefoxDriver(createFirefoxOptions());
+        }
+
+        prepareDriverBinary("chrome");
+        if ("context".equalsIgnoreCase(isolation)) {
+            // One shared Chrome process, one isolated browser context per test
+            return BrowserContextPool.getInstance(createChromeOptions()).newContextDriver();
+        }
+        return new ChromeDriver(createChromeOptions());
+    }
+
+    private static void preloadClasses() {
+        // Load and initialize the heavy Selenium and reporting classes off the main thread
+        String[] classNames = {
+            "org.openqa.selenium.chrome.ChromeDriver",
+            "org.openqa.selenium.remote.RemoteWebDriver",
+            "org.openqa.selenium.remote.http.HttpClient",
+            "org.openqa.selenium.json.Json",
+            "org.openqa.selenium.support.ui.WebDriverWait",
+            "org.openqa.selenium.support.ui.ExpectedConditions",
+            "org.openqa.selenium.support.events.EventFiringDecorator",
+            "com.aventstack.extentreports.ExtentReports",
+            "com.aventstack.extentreports.reporter.ExtentSparkReporter",
+            "freemarker.template.Configuration"
+        };
+        ClassLoader classLoader = BaseTest.class.getClassLoader();
+        for (String className : classNames) {
+            try {
+                Class.forName(className, true, classLoader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                logger.debug("Class not preloaded: {}", className);
+            }
+        }
+    }
+
+    private static synchronized void prepareDriverBinary(String browser) {
+        // Matrix runs set up browsers concurrently; resolve each driver binary only once
+        if (preparedBrowsers.add(browser)) {
+            if ("firefox".equals(browser)) {
+                WebDriverManager.firefoxdriver().setup();
+            } else {
+                WebDriverManager.chromedriver().setup();
+            }
+        }
+    }
+
+    private ChromeOptions createChromeOptions() {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--headless");
+        options.addArguments("--disable-gpu");
+        options.addArguments("--window-size=1920,1080");
+        options.addArguments("--no-sandbox");
+        options.addArguments("--disable-dev-shm-usage");
+        return options;
+    }
+
+    private FirefoxOptions createFirefoxOptions() {
+        FirefoxOptions options = new FirefoxOptions();
+        options.addArguments("--headless");
+        return options;
+    }
+
+    private static WebDriver unwrap(WebDriver webDriver) {
+        return webDriver instanceof WrapsDriver ? ((WrapsDriver) webDriver).getWrappedDriver() : webDriver;
+    }
+
+    private void quitDriver(WebDriver webDriver) {
+        // Pooled sessions are tracked by their undecorated instance
+        webDriver = unwrap(webDriver);
+        if (!BrowserContextPool.releaseIfPooled(webDriver) && !RemoteGridBackend.releaseIfRemote(webDriver)) {
+            webDriver.quit();
+        }
+    }
+
+    private static void resetSession(WebDriver session) {
+        // Reset to a clean state: storage and cookies belong to the current origin, so clear them first
+        if (session.getCurrentUrl().startsWith("http")) {
+            ((JavascriptExecutor) session).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+        }
+        session.manage().deleteAllCookies();
+        session.get("about:blank");
+    }
+
+    private void parkWarmSession(WebDriver webDriver) {
+        WebDriver previous = warmSessionHolder.get();
+        if (previous != null) {
+            warmSessions.remove(previous);
+            quitDriver(previous);
+        }
+        WebDriver session = unwrap(webDriver);
+        warmSessionHolder.set(session);
+        warmSessions.add(session);
+        logger.info("WebDriver kept warm for retry");
+    }
+
+    private WebDriver takeWarmSession(String browser) {
+        WebDriver session = warmSessionHolder.get();
+        warmSessionHolder.remove();
+        if (session == null) {
+            return null;
+        }
+        warmSessions.remove(session);
+
+        try {
+            if (!browser.equalsIgnoreCase(((HasCapabilities) session).getCapabilities().getBrowserName())) {
+                quitDriver(session);
+                return null;
+            }
+            resetSession(session);
+            return session;
+        } catch (Exception e) {
+            logger.warn("Warm session could not be reset, starting a new one: {}", e.getMessage());
+            try {
+                quitDriver(session);
+            } catch (Exception quitError) {
+                logger.debug("Failed to quit broken session: {}", quitError.getMessage());
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Completes the test's HAR file. Passing tests' HARs are deleted unless -Dhar.keepPassed=true;
+     * returns the path of a HAR that was kept, or null.
+     */
+    private String finishNetworkRecording(ITestResult result) {
+        HarRecorder recorder = harHolder.get();
+        if (recorder == null) {
+            return null;
+        }
+        recorder.stop();
+        if (result.getStatus() == ITestResult.SUCCESS && !Boolean.getBoolean("har.keepPassed")) {
+            try {
+                Files.deleteIfExists(recorder.getFile());
+            } catch (IOException e) {
+                logger.warn("Failed to delete HAR file {}: {}", recorder.getFile(), e.getMessage());
+            }
+            return null;
+        }
+        return recorder.getFile().toString();
+    }
+
+    private static boolean isDataDriven(ITestResult result) {
+        return result.getMethod().getConstructorOrMethod().getMethod().getParameterCount() > 0;
+    }
+
+    private String describeRecordFailure(String methodName, String record, Throwable failure) {
+        String error = failure.getMessage();
+        logger.error("Record {} failed: {}", record, error);
+        String screenshotPath = captureScreenshot(
+            methodName + "_" + browserHolder.get() + "_" + record.replaceAll("[^A-Za-z0-9_]", ""));
+        if (screenshotPath != null) {
+            error = error + " (screenshot: " + screenshotPath + ")";
+        }
+        HarRecorder recorder = harHolder.get();
+        if (recorder != null) {
+            error = error + " (HAR: " + recorder.getFile() + ")";
+        }
+        return error;
+    }
+
+    private void reportDataDrivenSummaries() {
+        List<RecordOutcomeLog> outcomeLogs = RecordOutcomeLog.closeAll();
+        for (RecordOutcomeLog outcomes : outcomeLogs) {
+            ExtentTest summary = getExtent().createTest(outcomes.getMethodName() + " [" + outcomes.getBrowser() + "]");
+            summary.assignDevice(outcomes.getBrowser());
+            summary.assignCategory("data-driven");
+            String outcomeUri = outcomes.getFile().toAbsolutePath().toUri().toString();
+            String counts = String.format("%d records: %d passed, %d failed, %d skipped - <a href='%s' target='_blank'>per-record results</a>",
+                outcomes.getPassed() + outcomes.getFailed() + outcomes.getSkipped(),
+                outcomes.getPassed(), outcomes.getFailed(), outcomes.getSkipped(), outcomeUri);
+            if (outcomes.getFailed() > 0) {
+                summary.fail(counts);
+                summary.fail("Failed records (first " + outcomes.getFailedRecords().size() + "): "
+                    + String.join(", ", outcomes.getFailedRecords()));
+            } else {
+                summary.pass(counts);
+            }
+        }
+    }
+
+    private static String testLogName(String methodName, String browser) {
+        return (methodName + "_" + browser).toLowerCase().replaceAll("[^a-z0-9_.-]", "_");
+    }
+
+    /**
+     * Log file name for one invocation, relative to logs/tests: run directory, then method and
+     * browser, data provider parameters (e.g. the lane) and the attempt number for retries.
+     */
+    private static String invocationLogName(ITestResult result, String browser) {
+        String name = testLogName(result.getMethod().getMethodName(), browser);
+        if (result.getParameters().length > 0) {
+            // e.g. "[lane 2/4]" -> "_lane_2_4"
+            name = name + Arrays.toString(result.getParameters()).toLowerCase().replaceAll("[^a-z0-9]+", "_").replaceAll("_$", "");
+        }
+        int attempt = logInvocations.computeIfAbsent(name, key -> new AtomicInteger()).incrementAndGet();
+        return RUN_ID + "/" + (attempt == 1 ? name : name + "_attempt" + attempt);
+    }
+
+    private void attachTestLog(ExtentTest test) {
+        String testLog = ThreadContext.get(TEST_LOG_KEY);
+        if (test != null && testLog != null) {
+            // The file is written by the async logger thread, so it may still be catching up here
+            String logUri = Paths.get(TEST_LOG_PATH, testLog + ".log").toAbsolutePath().toUri().toString();
+            test.info("Test log: <a href='" + logUri + "' target='_blank'>" + testLog + ".log</a>");
+        }
+    }
+
+    private void reportReplayedResults() {
+        TestImpactCache impactCache = TestImpactCache.getInstance();
+        for (String key : impactCache.getReplayed()) {
+            // Keys look like "kz.alash.qa.tests.SauceDemoTests.testValidLogin[chrome]"
+            String browser = key.substring(key.lastIndexOf('[') + 1, key.length() - 1);
+            String methodName = key.substring(key.lastIndexOf('.', key.lastIndexOf('[')) + 1, key.lastIndexOf('['));
+            ExtentTest cachedTest = getExtent().createTest(methodName + " [" + browser + "]");
+            cachedTest.assignDevice(browser);
+            cachedTest.assignCategory("cached");
+            cachedTest.pass("Not executed: no dependency changed since the last passing run (result replayed from cache)");
+        }
+        impactCache.save();
+    }
+
+    protected static synchronized ExtentReports getExtent() {
+        if (extent == null) {
+            StartupProfiler.time("ExtentReports setup", BaseTest::setupExtentReports);
+        }
+        return extent;
+    }
+
+    private static void setupExtentReports() {
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
         String reportPath = REPORT_PATH + "TestReport_" + timestamp + ".html";
 
@@ -148,6 +576,7 @@ public class BaseTest {
 
     private String captureScreenshot(String testName) {
         try {
+            WebDriver driver = getDriver();
             if (driver instanceof TakesScreenshot) {
                 String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
                 String screenshotName = testName + "_" + timestamp + ".png";
@@ -165,8 +594,30 @@ public class BaseTest {
         return null;
     }
 
+    /**
+     * Asserts that the current page still looks like its stored baseline for this browser and viewport.
+     * Diff images of the changed regions are attached to the report. Opt-in with -Dvisual=true
+     * (or -DupdateBaselines=true); otherwise the check is skipped and the functional test goes on.
+     */
+    protected void assertVisualMatch(String pageName) {
+        if (!Boolean.getBoolean("visual") && !Boolean.getBoolean("updateBaselines")) {
+            logger.debug("Visual check for {} skipped (enable with -Dvisual=true)", pageName);
+            return;
+        }
+        VisualCheck.Result visual = VisualCheck.verify(getDriver(), pageName, browserHolder.get());
+        ExtentTest test = getTest();
+        if (test != null) {
+            for (String diffImage : visual.getDiffImages()) {
+                test.fail("Visual difference: " + diffImage, MediaEntityBuilder.createScreenCaptureFromPath(diffImage).build());
+            }
+        }
+        logStep(visual.getSummary());
+        Assert.assertTrue(visual.matches(), visual.getSummary());
+    }
+
     protected void logStep(String message) {
         logger.info("STEP: {}", message);
+        ExtentTest test = getTest();
         if (test != null) {
             test.log(Status.INFO, message);
         }
@@ -0,0 +1,157 @@
+package kz.alash.qa.base;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.Connection;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shares one Chrome process between tests. Every test gets its own browser context
+ * (created through DevTools Target.createBrowserContext), so cookies, storage and cache
+ * stay isolated while the process launch cost is paid only once per suite.
+ */
+public class BrowserContextPool {
+    private static final Logger logger = LogManager.getLogger(BrowserContextPool.class);
+    private static final Json JSON = new Json();
+    private static final Duration CDP_TIMEOUT = Duration.ofSeconds(30);
+    private static volatile BrowserContextPool instance;
+
+    private final ChromeDriverService service;
+    private final ChromeDriver host;
+    private final String debuggerAddress;
+    private final HttpClient debuggerClient;
+    // Browser-target DevTools connection: Target.createBrowserContext and disposeBrowserContext
+    // are only allowed on the browser target, not on the page session behind executeCdpCommand
+    private final Connection browserConnection;
+    private final Map<WebDriver, String> contexts = new ConcurrentHashMap<>();
+
+    private BrowserContextPool(ChromeOptions hostOptions) {
+        service = new ChromeDriverService.Builder().usingAnyFreePort().build();
+        try {
+            service.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start shared ChromeDriver service", e);
+        }
+
+        // The host session owns the Chrome process; tests never talk to it directly
+        host = new ChromeDriver(service, hostOptions);
+        Map<?, ?> chromeOptions = (Map<?, ?>) host.getCapabilities().getCapability("goog:chromeOptions");
+        debuggerAddress = String.valueOf(chromeOptions.get("debuggerAddress"));
+
+        // The browser target's WebSocket URL is published by Chrome's debugger endpoint
+        HttpClient.Factory clientFactory = HttpClient.Factory.createDefault();
+        Map<String, Object> version;
+        try (HttpClient versionClient = clientFactory.createClient(
+            ClientConfig.defaultConfig().baseUri(URI.create("http://" + debuggerAddress)))) {
+            version = JSON.toType(
+                Contents.string(versionClient.execute(new HttpRequest(HttpMethod.GET, "/json/version"))), Json.MAP_TYPE);
+        }
+        URI browserTarget = URI.create(String.valueOf(version.get("webSocketDebuggerUrl")));
+        debuggerClient = clientFactory.createClient(ClientConfig.defaultConfig().baseUri(browserTarget));
+        browserConnection = new Connection(debuggerClient, browserTarget.toString());
+        logger.info("Shared Chrome process started, debugger address: {}", debuggerAddress);
+    }
+
+    public static synchronized BrowserContextPool getInstance(ChromeOptions hostOptions) {
+        if (instance == null) {
+            instance = new BrowserContextPool(hostOptions);
+        }
+        return instance;
+    }
+
+    public static synchronized void shutdownIfStarted() {
+        if (instance != null) {
+            instance.shutdown();
+            instance = null;
+        }
+    }
+
+    /**
+     * Creates an isolated browser context with a single page and returns a WebDriver session
+     * attached to that page. Page objects can use it exactly like a ChromeDriver.
+     */
+    public WebDriver newContextDriver() {
+        Map<String, Object> context = sendToBrowser("Target.createBrowserContext", Map.of());
+        String contextId = (String) context.get("browserContextId");
+        Map<String, Object> target = sendToBrowser("Target.createTarget", Map.of(
+            "url", "about:blank",
+            "browserContextId", contextId,
+            "width", 1920,
+            "height", 1080));
+        String targetId = (String) target.get("targetId");
+
+        // Attach a lightweight session to the running browser; ChromeDriver window handles are target ids
+        ChromeOptions attachOptions = new ChromeOptions();
+        attachOptions.setExperimentalOption("debuggerAddress", debuggerAddress);
+        WebDriver driver = new RemoteWebDriver(service.getUrl(), attachOptions);
+        driver.switchTo().window(targetId);
+
+        contexts.put(driver, contextId);
+        logger.info("Browser context {} created ({} active)", contextId, contexts.size());
+        return driver;
+    }
+
+    /**
+     * Releases the session if it was handed out by the pool; returns false for ordinary drivers.
+     */
+    public static boolean releaseIfPooled(WebDriver driver) {
+        BrowserContextPool pool = instance;
+        if (pool == null || !pool.contexts.containsKey(driver)) {
+            return false;
+        }
+        pool.release(driver);
+        return true;
+    }
+
+    // Disposing a context closes its pages and wipes its cookies and storage;
+    // the shared Chrome process keeps running for the next test
+    private void release(WebDriver driver) {
+        String contextId = contexts.remove(driver);
+        if (contextId == null) {
+            return;
+        }
+
+        try {
+            sendToBrowser("Target.disposeBrowserContext", Map.of("browserContextId", contextId));
+        } catch (Exception e) {
+            logger.error("Failed to dispose browser context {}: {}", contextId, e.getMessage());
+        } finally {
+            // Quitting an attached session only detaches ChromeDriver from the browser
+            driver.quit();
+        }
+        logger.info("Browser context {} disposed ({} active)", contextId, contexts.size());
+    }
+
+    private Map<String, Object> sendToBrowser(String method, Map<String, Object> params) {
+        // No session id: the command goes to the browser target itself
+        return browserConnection.sendAndWait(null,
+            new Command<Map<String, Object>>(method, params, input -> input.read(Json.MAP_TYPE)), CDP_TIMEOUT);
+    }
+
+    private void shutdown() {
+        contexts.keySet().forEach(this::release);
+        browserConnection.close();
+        debuggerClient.close();
+        host.quit();
+        service.stop();
+        logger.info("Shared Chrome process stopped");
+    }
+}
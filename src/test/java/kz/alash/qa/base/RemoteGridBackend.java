@@ -0,0 +1,156 @@
+package kz.alash.qa.base;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs browsers on a Selenium Grid (or a standalone server) instead of this machine.
+ * All sessions share one keep-alive HTTP client to the grid, and session creation is queued
+ * behind a fair semaphore sized to the grid capacity (-Dgrid.maxSessions, default 4), so a
+ * saturated grid makes tests wait here instead of failing with session timeouts.
+ */
+public class RemoteGridBackend {
+    private static final Logger logger = LogManager.getLogger(RemoteGridBackend.class);
+    private static final Map<String, RemoteGridBackend> BACKENDS = new ConcurrentHashMap<>();
+
+    private static final int MAX_SESSIONS = Integer.getInteger("grid.maxSessions", 4);
+    private static final long QUEUE_TIMEOUT_SECONDS = Long.getLong("grid.queueTimeoutSec", 300);
+    private static final int SESSION_ATTEMPTS = 3;
+    // Local grid: a refused or silent connection should fail fast instead of after the default 10 s
+    private static final long CONNECT_TIMEOUT_SECONDS = Long.getLong("grid.connectTimeoutSec", 3);
+    // Should match the grid's --session-request-timeout (Selenium default 300 s)
+    private static final long GRID_QUEUE_TIMEOUT_SECONDS = Long.getLong("grid.sessionRequestTimeoutSec", 300);
+
+    private final URL gridUrl;
+    private final ClientConfig clientConfig;
+    private final HttpClient.Factory sharedClientFactory;
+    private final Semaphore sessionSlots = new Semaphore(MAX_SESSIONS, true);
+    private final Map<WebDriver, Boolean> sessions = new ConcurrentHashMap<>();
+
+    private RemoteGridBackend(URL gridUrl) {
+        this.gridUrl = gridUrl;
+
+        // One client for all sessions: its connection pool keeps connections to the grid alive between
+        // commands and sessions (the JDK client's default idle keep-alive is 20 minutes).
+        // New-session requests can wait in the grid's own queue for up to its session request timeout,
+        // so the read timeout must outlast that; plain commands never get near it.
+        // HTTP/1.1 skips the h2c upgrade attempt the grid would refuse on every new connection.
+        this.clientConfig = ClientConfig.defaultConfig()
+            .baseUrl(gridUrl)
+            .connectionTimeout(Duration.ofSeconds(CONNECT_TIMEOUT_SECONDS))
+            .readTimeout(Duration.ofSeconds(GRID_QUEUE_TIMEOUT_SECONDS + 30))
+            .version("HTTP_1_1");
+        HttpClient sharedClient = HttpClient.Factory.createDefault().createClient(clientConfig);
+        this.sharedClientFactory = config -> new SharedHttpClient(sharedClient);
+        logger.info("Remote grid backend at {} (max {} concurrent sessions)", gridUrl, MAX_SESSIONS);
+    }
+
+    public static RemoteGridBackend getInstance(String gridUrl) {
+        return BACKENDS.computeIfAbsent(gridUrl, url -> {
+            try {
+                return new RemoteGridBackend(new URL(url));
+            } catch (MalformedURLException e) {
+                throw new IllegalArgumentException("Invalid grid URL: " + url, e);
+            }
+        });
+    }
+
+    /**
+     * Waits for a free grid slot, then starts a session. Grid-side "no capacity" errors are retried.
+     */
+    public WebDriver newSession(Capabilities capabilities) {
+        try {
+            if (!sessionSlots.tryAcquire(QUEUE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new SessionNotCreatedException("No grid slot became free within " + QUEUE_TIMEOUT_SECONDS + " s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SessionNotCreatedException("Interrupted while waiting for a grid slot");
+        }
+
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    HttpCommandExecutor executor = new HttpCommandExecutor(Collections.emptyMap(), clientConfig, sharedClientFactory);
+                    WebDriver driver = new RemoteWebDriver(executor, capabilities);
+                    sessions.put(driver, Boolean.TRUE);
+                    logger.info("Remote session started on {} ({} active)", gridUrl, sessions.size());
+                    return driver;
+                } catch (SessionNotCreatedException e) {
+                    if (attempt >= SESSION_ATTEMPTS) {
+                        throw e;
+                    }
+                    logger.warn("Grid could not create a session (attempt {} of {}): {}", attempt, SESSION_ATTEMPTS, e.getMessage());
+                    Thread.sleep(2000L * attempt);
+                }
+            }
+        } catch (RuntimeException e) {
+            sessionSlots.release();
+            throw e;
+        } catch (InterruptedException e) {
+            sessionSlots.release();
+            Thread.currentThread().interrupt();
+            throw new SessionNotCreatedException("Interrupted while retrying session creation");
+        }
+    }
+
+    /**
+     * Quits the session and frees its grid slot; returns false when the driver is not a grid session.
+     */
+    public static boolean releaseIfRemote(WebDriver driver) {
+        for (RemoteGridBackend backend : BACKENDS.values()) {
+            if (backend.sessions.remove(driver) != null) {
+                try {
+                    driver.quit();
+                } finally {
+                    backend.sessionSlots.release();
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Closing one session's executor must not close the connection pool shared with other sessions
+    private static class SharedHttpClient implements HttpClient {
+        private final HttpClient delegate;
+
+        SharedHttpClient(HttpClient delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+            return delegate.openSocket(request, listener);
+        }
+
+        @Override
+        public HttpResponse execute(HttpRequest request) {
+            return delegate.execute(request);
+        }
+
+        @Override
+        public void close() {
+            // Shared client stays open for the lifetime of the JVM
+        }
+    }
+}
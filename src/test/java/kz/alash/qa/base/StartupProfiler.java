@@ -0,0 +1,76 @@
+package kz.alash.qa.base;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Breaks the time from JVM start to the first test down by startup phase. Phases timed before the
+ * first test starts are collected; once the first test starts the breakdown is logged and later
+ * calls only run the work. Phases may run concurrently, so they can add up to more than the total.
+ */
+public class StartupProfiler {
+    private static final Logger logger = LogManager.getLogger(StartupProfiler.class);
+    private static final List<String> phases = new ArrayList<>();
+    private static final AtomicBoolean firstTestStarted = new AtomicBoolean();
+    private static volatile String summary;
+
+    private StartupProfiler() {
+    }
+
+    public static void time(String phase, Runnable work) {
+        time(phase, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public static <T> T time(String phase, Supplier<T> work) {
+        if (firstTestStarted.get()) {
+            return work.get();
+        }
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            record(phase, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * Records a phase that started at JVM launch, e.g. everything before the suite's first hook.
+     */
+    public static void markSinceJvmStart(String phase) {
+        record(phase, ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+
+    public static void markFirstTest() {
+        if (!firstTestStarted.compareAndSet(false, true)) {
+            return;
+        }
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        int loadedClasses = ManagementFactory.getClassLoadingMXBean().getLoadedClassCount();
+
+        StringBuilder breakdown = new StringBuilder();
+        synchronized (phases) {
+            phases.forEach(phase -> breakdown.append(System.lineSeparator()).append("  ").append(phase));
+        }
+        summary = uptime + " ms (" + loadedClasses + " classes loaded)";
+        logger.info("Time to first test: {}{}", summary, breakdown);
+    }
+
+    public static String getSummary() {
+        return summary;
+    }
+
+    private static void record(String phase, long millis) {
+        synchronized (phases) {
+            phases.add(String.format("%-28s %6d ms [%s]", phase, millis, Thread.currentThread().getName()));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package kz.alash.qa.data;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One row of checkout test data: the SauceDemo user to log in with, the customer details
+ * entered at checkout and the outcome the flow is expected to end with.
+ */
+public class CustomerRecord {
+    public enum ExpectedOutcome {
+        ORDER_COMPLETE,
+        LOGIN_LOCKED_OUT,
+        CHECKOUT_ERROR
+    }
+
+    private static final String DEFAULT_DATA = "data/customers.csv";
+
+    private final String recordId;
+    private final String username;
+    private final String password;
+    private final String firstName;
+    private final String lastName;
+    private final String postalCode;
+    private final ExpectedOutcome expectedOutcome;
+
+    private CustomerRecord(Map<String, String> row) {
+        this.recordId = row.get("recordId");
+        this.username = row.get("username");
+        this.password = row.getOrDefault("password", "secret_sauce");
+        this.firstName = row.getOrDefault("firstName", "");
+        this.lastName = row.getOrDefault("lastName", "");
+        this.postalCode = row.getOrDefault("postalCode", "");
+        this.expectedOutcome = ExpectedOutcome.valueOf(row.getOrDefault("expectedOutcome", "ORDER_COMPLETE"));
+    }
+
+    /**
+     * Splits the dataset into lanes for a parallel TestNG data provider. TestNG reads a parallel
+     * provider's whole iterator before running anything, so it gets one lane per data provider
+     * thread instead of one row per record; the lanes then drain a single lazy source (file from
+     * -DcustomerData, CSV or JSONL, defaulting to the bundled sample dataset). At most one record
+     * per lane is in memory at a time, and a fast lane simply takes more records.
+     */
+    public static Iterator<Object[]> lanes(int count) {
+        StreamingDataSource rows = StreamingDataSource.open(System.getProperty("customerData", DEFAULT_DATA));
+        List<Object[]> lanes = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            lanes.add(new Object[]{new Lane(rows, i, count)});
+        }
+        return lanes.iterator();
+    }
+
+    /**
+     * One data provider invocation's share of the records, taken from the shared source on demand.
+     */
+    public static final class Lane {
+        private final StreamingDataSource rows;
+        private final int number;
+        private final int count;
+
+        private Lane(StreamingDataSource rows, int number, int count) {
+            this.rows = rows;
+            this.number = number;
+            this.count = count;
+        }
+
+        /**
+         * Returns the next record not yet taken by any lane, or null when the dataset is exhausted.
+         */
+        public CustomerRecord next() {
+            Map<String, String> row = rows.poll();
+            return row == null ? null : new CustomerRecord(row);
+        }
+
+        @Override
+        public String toString() {
+            return "lane " + number + "/" + count;
+        }
+    }
+
+    public String getRecordId() {
+        return recordId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getPostalCode() {
+        return postalCode;
+    }
+
+    public ExpectedOutcome getExpectedOutcome() {
+        return expectedOutcome;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + recordId + " " + username;
+    }
+}
@@ -0,0 +1,126 @@
+package kz.alash.qa.data;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compact per-record results for data-driven tests. Instead of one report node per row, every
+ * invocation appends one CSV line (record, status, duration, error) and the report gets a single
+ * summary per test method and browser.
+ */
+public class RecordOutcomeLog {
+    private static final Logger logger = LogManager.getLogger(RecordOutcomeLog.class);
+    private static final String OUTCOME_PATH = "test-output/DataDriven/";
+    private static final int MAX_LISTED_FAILURES = 20;
+    private static final Map<String, RecordOutcomeLog> LOGS = new ConcurrentHashMap<>();
+
+    private final String methodName;
+    private final String browser;
+    private final Path file;
+    private final BufferedWriter writer;
+    private final List<String> failedRecords = new ArrayList<>();
+    private int passed;
+    private int failed;
+    private int skipped;
+
+    private RecordOutcomeLog(String methodName, String browser) {
+        this.methodName = methodName;
+        this.browser = browser;
+        this.file = Paths.get(OUTCOME_PATH, methodName + "_" + browser + ".csv");
+        try {
+            Files.createDirectories(file.getParent());
+            writer = Files.newBufferedWriter(file);
+            writer.write("record,status,durationMs,error");
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create outcome log " + file, e);
+        }
+    }
+
+    public static RecordOutcomeLog forMethod(String methodName, String browser) {
+        return LOGS.computeIfAbsent(methodName + "_" + browser, key -> new RecordOutcomeLog(methodName, browser));
+    }
+
+    public static List<RecordOutcomeLog> closeAll() {
+        List<RecordOutcomeLog> logs = new ArrayList<>(LOGS.values());
+        for (RecordOutcomeLog log : logs) {
+            log.close();
+        }
+        LOGS.clear();
+        return logs;
+    }
+
+    public synchronized void record(String record, String status, long durationMs, String error) {
+        switch (status) {
+            case "PASS" -> passed++;
+            case "FAIL" -> {
+                failed++;
+                if (failedRecords.size() < MAX_LISTED_FAILURES) {
+                    failedRecords.add(record);
+                }
+            }
+            default -> skipped++;
+        }
+
+        try {
+            writer.write(csv(record) + "," + status + "," + durationMs + "," + csv(error == null ? "" : error));
+            writer.newLine();
+        } catch (IOException e) {
+            logger.error("Failed to write outcome for {}: {}", record, e.getMessage());
+        }
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public synchronized int getPassed() {
+        return passed;
+    }
+
+    public synchronized int getFailed() {
+        return failed;
+    }
+
+    public synchronized int getSkipped() {
+        return skipped;
+    }
+
+    public synchronized List<String> getFailedRecords() {
+        return new ArrayList<>(failedRecords);
+    }
+
+    private synchronized void close() {
+        try {
+            writer.close();
+            logger.info("Data-driven outcomes for {} [{}]: {} passed, {} failed, {} skipped -> {}",
+                methodName, browser, passed, failed, skipped, file);
+        } catch (IOException e) {
+            logger.error("Failed to close outcome log {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static String csv(String value) {
+        String singleLine = value.replace('\n', ' ').replace('\r', ' ');
+        return "\"" + singleLine.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,184 @@
+package kz.alash.qa.data;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily reads test data rows from a CSV (with header line) or JSONL file, one line at a time,
+ * so data providers can feed very large datasets without loading them into memory.
+ * Rows can be partitioned across shards: a shard only sees rows where index % shards == shard.
+ * Several consumers can drain one source concurrently through {@link #poll()}.
+ */
+public class StreamingDataSource implements Iterator<Map<String, String>> {
+    private static final Logger logger = LogManager.getLogger(StreamingDataSource.class);
+    private static final Json JSON = new Json();
+
+    private final String source;
+    private final BufferedReader reader;
+    private final boolean jsonLines;
+    private final int shard;
+    private final int shards;
+    private List<String> header;
+    private long index = -1;
+    private Map<String, String> next;
+    // Set once the reader is closed; every later read reports the end again instead of failing
+    private boolean exhausted;
+
+    private StreamingDataSource(String source, InputStream in, int shard, int shards) {
+        if (shards < 1 || shard < 0 || shard >= shards) {
+            throw new IllegalArgumentException("Invalid shard " + shard + " of " + shards);
+        }
+        this.source = source;
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.jsonLines = source.endsWith(".jsonl");
+        this.shard = shard;
+        this.shards = shards;
+    }
+
+    /**
+     * Opens a file path, falling back to a classpath resource (e.g. "data/customers.csv").
+     * Shard settings come from -Dshard and -Dshards (defaults: 0 of 1, i.e. every row).
+     */
+    public static StreamingDataSource open(String location) {
+        return open(location, Integer.getInteger("shard", 0), Integer.getInteger("shards", 1));
+    }
+
+    static StreamingDataSource open(String location, int shard, int shards) {
+        try {
+            Path path = Paths.get(location);
+            InputStream in = Files.exists(path)
+                ? Files.newInputStream(path)
+                : StreamingDataSource.class.getClassLoader().getResourceAsStream(location);
+            if (in == null) {
+                throw new IllegalArgumentException("Test data not found: " + location);
+            }
+            logger.info("Streaming test data from {} (shard {} of {})", location, shard, shards);
+            return new StreamingDataSource(location, in, shard, shards);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open test data: " + location, e);
+        }
+    }
+
+    @Override
+    public synchronized boolean hasNext() {
+        if (next == null) {
+            next = readNextInShard();
+        }
+        return next != null;
+    }
+
+    @Override
+    public synchronized Map<String, String> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more rows in " + source);
+        }
+        Map<String, String> row = next;
+        next = null;
+        return row;
+    }
+
+    /**
+     * Returns the next row, or null once the source is exhausted. Unlike hasNext()/next(),
+     * this is a single atomic step, so concurrent consumers never race for the last row.
+     */
+    public synchronized Map<String, String> poll() {
+        return hasNext() ? next() : null;
+    }
+
+    private Map<String, String> readNextInShard() {
+        if (exhausted) {
+            return null;
+        }
+        try {
+            if (!jsonLines && header == null) {
+                String headerLine = reader.readLine();
+                if (headerLine == null) {
+                    exhausted = true;
+                    reader.close();
+                    return null;
+                }
+                header = parseCsvLine(headerLine);
+            }
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                index++;
+                if (index % shards == shard) {
+                    Map<String, String> row = jsonLines ? parseJsonLine(line) : toRow(parseCsvLine(line));
+                    row.putIfAbsent("recordId", String.valueOf(index + 1));
+                    return row;
+                }
+            }
+            exhausted = true;
+            reader.close();
+            logger.info("Finished streaming {} rows from {}", index + 1, source);
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read test data: " + source, e);
+        }
+    }
+
+    private Map<String, String> toRow(List<String> values) {
+        Map<String, String> row = new LinkedHashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            row.put(header.get(i), i < values.size() ? values.get(i) : "");
+        }
+        return row;
+    }
+
+    private static Map<String, String> parseJsonLine(String line) {
+        Map<String, Object> json = JSON.toType(line, Json.MAP_TYPE);
+        Map<String, String> row = new LinkedHashMap<>();
+        json.forEach((key, value) -> row.put(key, value == null ? "" : String.valueOf(value)));
+        return row;
+    }
+
+    // Minimal RFC 4180 parsing: quoted fields may contain commas and doubled quotes
+    private static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        values.add(field.toString().trim());
+        return values;
+    }
+}
@@ -0,0 +1,167 @@
+package kz.alash.qa.data;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Plain unit tests for {@link StreamingDataSource}: no browser, no BaseTest.
+ */
+public class StreamingDataSourceTest {
+    private Path dataDir;
+
+    @BeforeClass
+    public void createDataDir() throws IOException {
+        dataDir = Files.createTempDirectory("streaming-data");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void deleteDataDir() throws IOException {
+        try (Stream<Path> files = Files.walk(dataDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test(description = "Shards split the rows by index without overlap, skipping blank lines")
+    public void testPollAcrossShards() throws IOException {
+        Path csv = write("ids.csv", "id\n1\n2\n\n3\n4\n5\n");
+
+        List<String> shard0 = drain(StreamingDataSource.open(csv.toString(), 0, 2), "id");
+        List<String> shard1 = drain(StreamingDataSource.open(csv.toString(), 1, 2), "id");
+
+        Assert.assertEquals(shard0, List.of("1", "3", "5"));
+        Assert.assertEquals(shard1, List.of("2", "4"));
+    }
+
+    @Test(description = "poll() returns null once the source is exhausted, and keeps returning null")
+    public void testPollAfterExhaustion() throws IOException {
+        StreamingDataSource rows = StreamingDataSource.open(write("one.csv", "id\n1\n").toString(), 0, 1);
+
+        Assert.assertNotNull(rows.poll());
+        Assert.assertNull(rows.poll());
+        Assert.assertNull(rows.poll());
+    }
+
+    @Test(description = "Concurrent consumers take every row exactly once")
+    public void testConcurrentPoll() throws Exception {
+        StringBuilder content = new StringBuilder("id\n");
+        for (int i = 1; i <= 1000; i++) {
+            content.append(i).append('\n');
+        }
+        StreamingDataSource rows = StreamingDataSource.open(write("many.csv", content.toString()).toString(), 0, 1);
+
+        // Every consumer keeps polling after the end, as each data-driven lane does
+        List<String> taken = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService consumers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(consumers.submit(() -> {
+                    Map<String, String> row;
+                    while ((row = rows.poll()) != null) {
+                        taken.add(row.get("id"));
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            consumers.shutdownNow();
+        }
+
+        Assert.assertEquals(taken.size(), 1000);
+        Assert.assertEquals(taken.stream().distinct().count(), 1000);
+    }
+
+    @Test(description = "Quoted fields keep their commas and unescape doubled quotes")
+    public void testQuotedCsvFields() throws IOException {
+        Path csv = write("quoted.csv", "name,note\n\"O'Brien, Jr.\",\"says \"\"hi\"\", twice\"\n");
+
+        Map<String, String> row = StreamingDataSource.open(csv.toString(), 0, 1).poll();
+
+        Assert.assertEquals(row.get("name"), "O'Brien, Jr.");
+        Assert.assertEquals(row.get("note"), "says \"hi\", twice");
+    }
+
+    @Test(description = "Short rows get empty values and rows are numbered by their position in the file")
+    public void testMissingValuesAndRecordIds() throws IOException {
+        Path csv = write("short.csv", "a,b,c\n1,2\n3,4,5\n");
+
+        StreamingDataSource rows = StreamingDataSource.open(csv.toString(), 0, 1);
+        Map<String, String> first = rows.poll();
+        Map<String, String> second = rows.poll();
+
+        Assert.assertEquals(first.get("c"), "");
+        Assert.assertEquals(first.get("recordId"), "1");
+        Assert.assertEquals(second.get("recordId"), "2");
+    }
+
+    @Test(description = "JSONL rows keep their own recordId and stringify values")
+    public void testJsonLines() throws IOException {
+        Path jsonl = write("rows.jsonl", "{\"recordId\":\"A-1\",\"postalCode\":\"050000\"}\n\n{\"count\":3,\"note\":null}\n");
+
+        StreamingDataSource rows = StreamingDataSource.open(jsonl.toString(), 0, 1);
+        Map<String, String> first = rows.poll();
+        Map<String, String> second = rows.poll();
+
+        Assert.assertEquals(first.get("recordId"), "A-1");
+        Assert.assertEquals(first.get("postalCode"), "050000");
+        Assert.assertEquals(second.get("count"), "3");
+        Assert.assertEquals(second.get("note"), "");
+        Assert.assertEquals(second.get("recordId"), "2");
+        Assert.assertNull(rows.poll());
+    }
+
+    @Test(description = "The bundled customers.csv parses into 7 rows, including its quoted first name")
+    public void testBundledCustomerData() {
+        List<Map<String, String>> rows = new ArrayList<>();
+        StreamingDataSource source = StreamingDataSource.open("data/customers.csv", 0, 1);
+        Map<String, String> row;
+        while ((row = source.poll()) != null) {
+            rows.add(row);
+        }
+
+        Assert.assertEquals(rows.size(), 7);
+        Assert.assertEquals(rows.get(2).get("firstName"), "O'Brien, Jr.");
+        Assert.assertEquals(rows.get(2).get("lastName"), "Smith");
+        Assert.assertEquals(rows.get(2).get("postalCode"), "SW1A 1AA");
+        for (Map<String, String> customer : rows) {
+            CustomerRecord.ExpectedOutcome.valueOf(customer.get("expectedOutcome"));
+        }
+    }
+
+    @Test(description = "A shard outside 0..shards-1 is rejected", expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidShard() throws IOException {
+        StreamingDataSource.open(write("invalid.csv", "id\n1\n").toString(), 2, 2);
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(dataDir.resolve(name), content, StandardCharsets.UTF_8);
+    }
+
+    private static List<String> drain(StreamingDataSource rows, String column) {
+        List<String> values = new ArrayList<>();
+        Map<String, String> row;
+        while ((row = rows.poll()) != null) {
+            values.add(row.get(column));
+        }
+        return values;
+    }
+}
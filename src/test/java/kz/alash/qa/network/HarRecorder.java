@@ -0,0 +1,411 @@
+package kz.alash.qa.network;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records network traffic of one browser session through DevTools and streams it into a HAR file.
+ * Entries are written as soon as a request finishes, so memory only holds requests still in flight
+ * (capped at {@value #MAX_IN_FLIGHT}). Response bodies are off by default; with -Dhar.bodies=true
+ * they are fetched on a bounded background queue and truncated to -Dhar.maxBodyBytes of body data.
+ * Binary bodies are stored base64-encoded with "encoding": "base64", as HAR 1.2 specifies.
+ * The DevTools domains are addressed by name, so no CDP version-specific classes are needed.
+ */
+public class HarRecorder {
+    private static final Logger logger = LogManager.getLogger(HarRecorder.class);
+    private static final Json JSON = new Json();
+    private static final int MAX_IN_FLIGHT = 512;
+    private static final boolean CAPTURE_BODIES = Boolean.getBoolean("har.bodies");
+    static final int MAX_BODY_BYTES = Integer.getInteger("har.maxBodyBytes", 64 * 1024);
+
+    private final Path file;
+    private final DevTools devTools;
+    private final BufferedWriter writer;
+    private final Map<String, PendingEntry> inFlight = new LinkedHashMap<>();
+    // Finished requests whose body fetch is queued or running; stop() writes leftovers without a body
+    private final Set<PendingEntry> awaitingBody = new LinkedHashSet<>();
+    private final ThreadPoolExecutor bodyFetcher;
+    private boolean firstEntry = true;
+    private boolean closed;
+    private int entryCount;
+
+    private HarRecorder(Path file, DevTools devTools) throws IOException {
+        this.file = file;
+        this.devTools = devTools;
+        Files.createDirectories(file.getParent());
+        this.writer = Files.newBufferedWriter(file);
+        writer.write("{\"log\":{\"version\":\"1.2\",\"creator\":{\"name\":\"assignment5_QA\",\"version\":\"1.0\"},\"entries\":[");
+        this.bodyFetcher = CAPTURE_BODIES
+            ? new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(64))
+            : null;
+    }
+
+    /**
+     * Starts recording for the given session, or returns null when the driver does not expose DevTools.
+     */
+    public static HarRecorder start(WebDriver driver, Path file) {
+        if (!(driver instanceof HasDevTools)) {
+            logger.warn("Network recording skipped: {} does not support DevTools", driver.getClass().getSimpleName());
+            return null;
+        }
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            HarRecorder recorder = new HarRecorder(file, devTools);
+            recorder.subscribe();
+            logger.info("Recording network traffic to {}", file);
+            return recorder;
+        } catch (Exception e) {
+            logger.warn("Network recording could not be started: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    private void subscribe() {
+        devTools.send(new Command<Void>("Network.enable", Map.of()));
+        devTools.addListener(event("Network.requestWillBeSent"), this::onRequest);
+        devTools.addListener(event("Network.responseReceived"), this::onResponse);
+        devTools.addListener(event("Network.loadingFinished"), this::onFinished);
+        devTools.addListener(event("Network.loadingFailed"), this::onFailed);
+    }
+
+    private static Event<Map<String, Object>> event(String name) {
+        return new Event<>(name, input -> input.read(Json.MAP_TYPE));
+    }
+
+    private synchronized void onRequest(Map<String, Object> event) {
+        if (closed) {
+            return;
+        }
+        String requestId = (String) event.get("requestId");
+
+        // A redirect reuses the request id: the previous hop is complete
+        PendingEntry previous = inFlight.remove(requestId);
+        if (previous != null && event.get("redirectResponse") != null) {
+            previous.response = map(event.get("redirectResponse"));
+            previous.endTimestamp = number(event.get("timestamp"));
+            write(previous, null);
+        }
+
+        if (inFlight.size() >= MAX_IN_FLIGHT) {
+            // Keep memory bounded: flush the oldest request as incomplete
+            String oldest = inFlight.keySet().iterator().next();
+            PendingEntry evicted = inFlight.remove(oldest);
+            evicted.error = "still in flight when buffer was full";
+            write(evicted, null);
+        }
+
+        PendingEntry entry = new PendingEntry();
+        entry.request = map(event.get("request"));
+        entry.wallTime = number(event.get("wallTime"));
+        entry.startTimestamp = number(event.get("timestamp"));
+        inFlight.put(requestId, entry);
+    }
+
+    private synchronized void onResponse(Map<String, Object> event) {
+        PendingEntry entry = inFlight.get((String) event.get("requestId"));
+        if (entry != null) {
+            entry.response = map(event.get("response"));
+        }
+    }
+
+    private synchronized void onFinished(Map<String, Object> event) {
+        String requestId = (String) event.get("requestId");
+        PendingEntry entry = inFlight.remove(requestId);
+        if (entry == null || closed) {
+            return;
+        }
+        entry.endTimestamp = number(event.get("timestamp"));
+        entry.encodedDataLength = number(event.get("encodedDataLength"));
+
+        if (bodyFetcher == null) {
+            write(entry, null);
+            return;
+        }
+        awaitingBody.add(entry);
+        try {
+            // Fetching the body is a DevTools round trip; never block the event thread with it
+            bodyFetcher.execute(() -> {
+                ResponseBody body = fetchBody(requestId);
+                synchronized (this) {
+                    if (awaitingBody.remove(entry)) {
+                        write(entry, body);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            awaitingBody.remove(entry);
+            write(entry, null);
+        }
+    }
+
+    private synchronized void onFailed(Map<String, Object> event) {
+        PendingEntry entry = inFlight.remove((String) event.get("requestId"));
+        if (entry != null && !closed) {
+            entry.endTimestamp = number(event.get("timestamp"));
+            entry.error = String.valueOf(event.get("errorText"));
+            write(entry, null);
+        }
+    }
+
+    private ResponseBody fetchBody(String requestId) {
+        try {
+            Map<String, Object> result = devTools.send(new Command<Map<String, Object>>(
+                "Network.getResponseBody", Map.of("requestId", requestId), input -> input.read(Json.MAP_TYPE)));
+            String body = String.valueOf(result.get("body"));
+            boolean base64 = Boolean.TRUE.equals(result.get("base64Encoded"));
+            return base64 ? ResponseBody.binary(body) : ResponseBody.text(body);
+        } catch (Exception e) {
+            logger.debug("Response body not available for {}: {}", requestId, e.getMessage());
+            return null;
+        }
+    }
+
+    private void write(PendingEntry entry, ResponseBody body) {
+        try {
+            if (!firstEntry) {
+                writer.write(",");
+            }
+            writer.newLine();
+            writer.write(JSON.toJson(entry.toHar(body)));
+            firstEntry = false;
+            entryCount++;
+        } catch (IOException e) {
+            logger.error("Failed to write HAR entry to {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Stops recording and completes the HAR file. Requests still in flight are written as incomplete;
+     * finished requests whose body was not fetched within 5 seconds are written without a body.
+     */
+    public void stop() {
+        if (bodyFetcher != null) {
+            bodyFetcher.shutdown();
+            try {
+                if (!bodyFetcher.awaitTermination(5, TimeUnit.SECONDS)) {
+                    // Drop queued fetches; their entries are still in awaitingBody and written below
+                    bodyFetcher.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                bodyFetcher.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (!awaitingBody.isEmpty()) {
+                logger.warn("{} response bodies not fetched before recording stopped, writing entries without body",
+                    awaitingBody.size());
+            }
+            for (PendingEntry entry : awaitingBody) {
+                write(entry, null);
+            }
+            awaitingBody.clear();
+            for (PendingEntry entry : inFlight.values()) {
+                entry.error = "still in flight when recording stopped";
+                write(entry, null);
+            }
+            inFlight.clear();
+            closed = true;
+            try {
+                writer.newLine();
+                writer.write("]}}");
+                writer.close();
+            } catch (IOException e) {
+                logger.error("Failed to close HAR file {}: {}", file, e.getMessage());
+            }
+        }
+
+        try {
+            devTools.clearListeners();
+        } catch (Exception e) {
+            logger.debug("Failed to clear DevTools listeners: {}", e.getMessage());
+        }
+        logger.info("Network recording stopped, {} entries written to {}", entryCount, file);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> map(Object value) {
+        return value instanceof Map ? (Map<String, Object>) value : Map.of();
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : -1;
+    }
+
+    /**
+     * A captured response body, truncated by decoded bytes so binary bodies stay valid base64.
+     */
+    static class ResponseBody {
+        final String text;
+        final boolean base64;
+        final boolean truncated;
+
+        private ResponseBody(String text, boolean base64, boolean truncated) {
+            this.text = text;
+            this.base64 = base64;
+            this.truncated = truncated;
+        }
+
+        static ResponseBody text(String body) {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length <= MAX_BODY_BYTES) {
+                return new ResponseBody(body, false, false);
+            }
+            // Cut at a character boundary: step back over UTF-8 continuation bytes
+            int end = MAX_BODY_BYTES;
+            while (end > 0 && (bytes[end] & 0xC0) == 0x80) {
+                end--;
+            }
+            return new ResponseBody(new String(bytes, 0, end, StandardCharsets.UTF_8), false, true);
+        }
+
+        static ResponseBody binary(String base64Body) {
+            byte[] bytes = Base64.getDecoder().decode(base64Body);
+            if (bytes.length <= MAX_BODY_BYTES) {
+                return new ResponseBody(base64Body, true, false);
+            }
+            return new ResponseBody(Base64.getEncoder().encodeToString(Arrays.copyOf(bytes, MAX_BODY_BYTES)), true, true);
+        }
+    }
+
+    private static class PendingEntry {
+        Map<String, Object> request;
+        Map<String, Object> response;
+        double wallTime;
+        double startTimestamp;
+        double endTimestamp = -1;
+        double encodedDataLength = -1;
+        String error;
+
+        Map<String, Object> toHar(ResponseBody body) {
+            Map<String, Object> responseData = response == null ? Map.of() : response;
+            Map<String, Object> timing = map(responseData.get("timing"));
+            Map<String, Object> timings = timings(timing);
+            double time = endTimestamp > 0 ? (endTimestamp - startTimestamp) * 1000 : -1;
+
+            Map<String, Object> harRequest = new LinkedHashMap<>();
+            harRequest.put("method", request.getOrDefault("method", "GET"));
+            harRequest.put("url", request.getOrDefault("url", ""));
+            harRequest.put("httpVersion", responseData.getOrDefault("protocol", "unknown"));
+            harRequest.put("headers", headers(request.get("headers")));
+            harRequest.put("queryString", List.of());
+            harRequest.put("cookies", List.of());
+            harRequest.put("headersSize", -1);
+            String postData = (String) request.get("postData");
+            harRequest.put("bodySize", postData == null ? 0 : postData.length());
+
+            Map<String, Object> content = new LinkedHashMap<>();
+            content.put("size", (long) encodedDataLength);
+            content.put("mimeType", responseData.getOrDefault("mimeType", ""));
+            if (body != null) {
+                content.put("text", body.text);
+                if (body.base64) {
+                    content.put("encoding", "base64");
+                }
+                if (body.truncated) {
+                    content.put("comment", "body truncated to " + MAX_BODY_BYTES + " bytes");
+                }
+            }
+
+            Map<String, Object> harResponse = new LinkedHashMap<>();
+            harResponse.put("status", responseData.getOrDefault("status", 0));
+            harResponse.put("statusText", error != null ? error : responseData.getOrDefault("statusText", ""));
+            harResponse.put("httpVersion", responseData.getOrDefault("protocol", "unknown"));
+            harResponse.put("headers", headers(responseData.get("headers")));
+            harResponse.put("cookies", List.of());
+            harResponse.put("content", content);
+            harResponse.put("redirectURL", "");
+            harResponse.put("headersSize", -1);
+            harResponse.put("bodySize", (long) encodedDataLength);
+
+            Map<String, Object> har = new LinkedHashMap<>();
+            har.put("startedDateTime", Instant.ofEpochMilli((long) (wallTime * 1000)).toString());
+            har.put("time", time);
+            har.put("request", harRequest);
+            har.put("response", harResponse);
+            har.put("cache", Map.of());
+            har.put("timings", timings);
+            if (responseData.get("remoteIPAddress") != null) {
+                har.put("serverIPAddress", responseData.get("remoteIPAddress"));
+            }
+            if (error != null) {
+                har.put("_error", error);
+            }
+            return har;
+        }
+
+        // DevTools timing offsets are milliseconds relative to requestTime, -1 when not applicable
+        private Map<String, Object> timings(Map<String, Object> timing) {
+            Map<String, Object> timings = new LinkedHashMap<>();
+            if (timing.isEmpty()) {
+                timings.put("send", 0);
+                timings.put("wait", endTimestamp > 0 ? (endTimestamp - startTimestamp) * 1000 : -1);
+                timings.put("receive", 0);
+                return timings;
+            }
+            double requestTime = number(timing.get("requestTime"));
+            double dnsStart = number(timing.get("dnsStart"));
+            double connectStart = number(timing.get("connectStart"));
+            double sendStart = number(timing.get("sendStart"));
+            double sendEnd = number(timing.get("sendEnd"));
+            double receiveHeadersEnd = number(timing.get("receiveHeadersEnd"));
+
+            double firstActivity = dnsStart >= 0 ? dnsStart : connectStart >= 0 ? connectStart : sendStart;
+            timings.put("blocked", Math.max(0, (requestTime - startTimestamp) * 1000 + firstActivity));
+            timings.put("dns", span(timing, "dnsStart", "dnsEnd"));
+            timings.put("connect", span(timing, "connectStart", "connectEnd"));
+            timings.put("ssl", span(timing, "sslStart", "sslEnd"));
+            timings.put("send", Math.max(0, sendEnd - sendStart));
+            timings.put("wait", Math.max(0, receiveHeadersEnd - sendEnd));
+            timings.put("receive", endTimestamp > 0
+                ? Math.max(0, (endTimestamp - requestTime) * 1000 - receiveHeadersEnd) : -1);
+            return timings;
+        }
+
+        private static double span(Map<String, Object> timing, String start, String end) {
+            double startValue = number(timing.get(start));
+            double endValue = number(timing.get(end));
+            return startValue >= 0 && endValue >= 0 ? endValue - startValue : -1;
+        }
+
+        private static List<Map<String, Object>> headers(Object headers) {
+            List<Map<String, Object>> harHeaders = new ArrayList<>();
+            map(headers).forEach((name, value) -> harHeaders.add(Map.of("name", name, "value", String.valueOf(value))));
+            return harHeaders;
+        }
+    }
+}
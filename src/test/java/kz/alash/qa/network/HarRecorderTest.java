@@ -0,0 +1,84 @@
+package kz.alash.qa.network;
+
+import kz.alash.qa.network.HarRecorder.ResponseBody;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Plain unit tests for HAR response body truncation: no browser, no BaseTest.
+ * Sizes are relative to -Dhar.maxBodyBytes, so they hold for any configured limit.
+ */
+public class HarRecorderTest {
+    private static final int MAX = HarRecorder.MAX_BODY_BYTES;
+
+    @Test(description = "Text bodies within the limit are kept as they are")
+    public void testTextWithinLimit() {
+        String body = "a".repeat(MAX);
+
+        ResponseBody result = ResponseBody.text(body);
+
+        Assert.assertEquals(result.text, body);
+        Assert.assertFalse(result.base64);
+        Assert.assertFalse(result.truncated);
+    }
+
+    @Test(description = "Text bodies over the limit are cut to the limit in UTF-8 bytes")
+    public void testTextTruncated() {
+        ResponseBody result = ResponseBody.text("a".repeat(MAX + 10));
+
+        Assert.assertEquals(result.text.getBytes(StandardCharsets.UTF_8).length, MAX);
+        Assert.assertTrue(result.truncated);
+    }
+
+    @Test(description = "A cut that lands inside a multi-byte character steps back to the character boundary")
+    public void testTextCutAtCharacterBoundary() {
+        // 1 ASCII byte, then 2-byte and 4-byte characters: the limit falls inside one of them
+        String twoByte = "a" + "\u00e9".repeat(MAX);
+        String fourByte = "ab" + "\uD83D\uDE00".repeat(MAX);
+
+        for (String body : new String[]{twoByte, fourByte}) {
+            ResponseBody result = ResponseBody.text(body);
+            int length = result.text.getBytes(StandardCharsets.UTF_8).length;
+
+            Assert.assertTrue(result.truncated);
+            Assert.assertTrue(body.startsWith(result.text), "Truncated text must be a prefix of the body");
+            Assert.assertTrue(length <= MAX && length > MAX - 4, "Unexpected truncated length " + length);
+            Assert.assertFalse(result.text.contains("\uFFFD"), "Truncated text must not end in a broken character");
+        }
+    }
+
+    @Test(description = "Binary bodies within the limit keep their original base64")
+    public void testBinaryWithinLimit() {
+        String body = Base64.getEncoder().encodeToString(bytes(MAX));
+
+        ResponseBody result = ResponseBody.binary(body);
+
+        Assert.assertEquals(result.text, body);
+        Assert.assertTrue(result.base64);
+        Assert.assertFalse(result.truncated);
+    }
+
+    @Test(description = "Binary bodies are truncated by decoded bytes and re-encoded as valid base64")
+    public void testBinaryTruncated() {
+        byte[] original = bytes(MAX + 1001);
+
+        ResponseBody result = ResponseBody.binary(Base64.getEncoder().encodeToString(original));
+        byte[] decoded = Base64.getDecoder().decode(result.text);
+
+        Assert.assertTrue(result.base64);
+        Assert.assertTrue(result.truncated);
+        Assert.assertEquals(decoded, Arrays.copyOf(original, MAX));
+    }
+
+    private static byte[] bytes(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (i * 31);
+        }
+        return bytes;
+    }
+}
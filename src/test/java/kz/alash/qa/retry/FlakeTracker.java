@@ -0,0 +1,192 @@
+package kz.alash.qa.retry;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAnnotationTransformer;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.annotations.ITestAnnotation;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Attaches {@link RetryAnalyzer} to every test and keeps per-test, per-browser flakiness statistics
+ * across runs in test-output/flake-history.properties. A test is flaky in a run when it failed and
+ * then passed on retry. Tests whose flaky rate on a browser reaches -Dflake.threshold (default 0.3,
+ * after at least -Dflake.minRuns runs, default 5) are quarantined on that browser only: they are
+ * added to the "quarantine-{browser}" group and still run, but their failures there are reported
+ * as skips so they no longer break the build.
+ */
+public class FlakeTracker implements IAnnotationTransformer, ITestListener, IInvokedMethodListener, ISuiteListener {
+    private static final Logger logger = LogManager.getLogger(FlakeTracker.class);
+    private static final Path HISTORY_FILE = Paths.get("test-output/flake-history.properties");
+    private static final String QUARANTINE_GROUP = "quarantine";
+    private static final String RUNS_SUFFIX = ".runs";
+    private static final double THRESHOLD = Double.parseDouble(System.getProperty("flake.threshold", "0.3"));
+    private static final int MIN_RUNS = Integer.getInteger("flake.minRuns", 5);
+    // Quarantine decisions use the history as it was before this run started
+    private static final Properties previousRuns = loadHistory();
+    private static final Properties history = new Properties();
+
+    static {
+        history.putAll(previousRuns);
+    }
+
+    // Invocations that failed at least once in this run and were retried
+    private final Set<String> retriedInvocations = ConcurrentHashMap.newKeySet();
+
+    public static boolean isQuarantined(ITestResult result) {
+        return isQuarantined(historyKey(result));
+    }
+
+    private static boolean isQuarantined(String historyKey) {
+        int runs = count(previousRuns, historyKey, "runs");
+        if (runs < MIN_RUNS) {
+            return false;
+        }
+        return (double) count(previousRuns, historyKey, "flaky") / runs >= THRESHOLD;
+    }
+
+    @Override
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
+        if (testMethod == null) {
+            return;
+        }
+        // Data-driven lanes drain a shared record source: a retried lane would find the failed
+        // records already taken and pass, hiding the failure. Lanes retry their records themselves.
+        if (testMethod.getParameterCount() == 0) {
+            annotation.setRetryAnalyzer(RetryAnalyzer.class);
+        }
+
+        // The browser is not known here, so tag each browser the test is quarantined on
+        String testName = testMethod.getDeclaringClass().getName() + "." + testMethod.getName();
+        List<String> groups = new ArrayList<>(Arrays.asList(annotation.getGroups()));
+        for (String browser : quarantinedBrowsers(testName)) {
+            groups.add(QUARANTINE_GROUP + "-" + browser);
+            logger.warn("Quarantined flaky test on {} (failures will not fail the build): {}", browser, testName);
+        }
+        annotation.setGroups(groups.toArray(new String[0]));
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        // Quarantined tests are non-blocking: report their failures as skips
+        if (method.isTestMethod() && result.getStatus() == ITestResult.FAILURE
+            && isQuarantined(result)) {
+            result.setAttribute(QUARANTINE_GROUP, Boolean.TRUE);
+            result.setStatus(ITestResult.SKIP);
+            logger.warn("Quarantined test failed, reported as skipped: {}", historyKey(result));
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        String historyKey = historyKey(result);
+        increment(historyKey, "runs");
+        if (retriedInvocations.remove(invocationKey(result))) {
+            increment(historyKey, "flaky");
+            logger.warn("Flaky test passed on retry: {}", historyKey);
+        }
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        retriedInvocations.remove(invocationKey(result));
+        increment(historyKey(result), "runs");
+        increment(historyKey(result), "failed");
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        if (result.wasRetried()) {
+            retriedInvocations.add(invocationKey(result));
+        } else if (result.getAttribute(QUARANTINE_GROUP) != null) {
+            increment(historyKey(result), "runs");
+            increment(historyKey(result), "failed");
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        try {
+            Files.createDirectories(HISTORY_FILE.getParent());
+            try (Writer writer = Files.newBufferedWriter(HISTORY_FILE)) {
+                synchronized (history) {
+                    history.store(writer, "Per-test flakiness history (runs, failed, flaky)");
+                }
+            }
+            logger.info("Flake history saved: {}", HISTORY_FILE);
+        } catch (IOException e) {
+            logger.error("Failed to save flake history: {}", e.getMessage());
+        }
+    }
+
+    // Same shape as the test impact cache keys: "kz.alash.qa.tests.SauceDemoTests.testValidLogin[chrome]"
+    private static String historyKey(ITestResult result) {
+        return result.getMethod().getQualifiedName() + "[" + browser(result) + "]";
+    }
+
+    private static String browser(ITestResult result) {
+        // Suite XML value first, then -Dbrowser, then BaseTest's default, as TestNG resolves @Parameters
+        String browser = result.getTestContext().getCurrentXmlTest().getParameter("browser");
+        return (browser != null ? browser : System.getProperty("browser", "chrome")).toLowerCase();
+    }
+
+    private static List<String> quarantinedBrowsers(String testName) {
+        List<String> browsers = new ArrayList<>();
+        String prefix = testName + "[";
+        for (String property : previousRuns.stringPropertyNames()) {
+            if (property.startsWith(prefix) && property.endsWith("]" + RUNS_SUFFIX)) {
+                String historyKey = property.substring(0, property.length() - RUNS_SUFFIX.length());
+                if (isQuarantined(historyKey)) {
+                    browsers.add(historyKey.substring(prefix.length(), historyKey.length() - 1));
+                }
+            }
+        }
+        return browsers;
+    }
+
+    private static String invocationKey(ITestResult result) {
+        return result.getTestContext().getName() + "/" + result.getMethod().getQualifiedName()
+            + Arrays.toString(result.getParameters());
+    }
+
+    private static int count(Properties properties, String historyKey, String counter) {
+        return Integer.parseInt(properties.getProperty(historyKey + "." + counter, "0"));
+    }
+
+    private static void increment(String historyKey, String counter) {
+        synchronized (history) {
+            history.setProperty(historyKey + "." + counter, String.valueOf(count(history, historyKey, counter) + 1));
+        }
+    }
+
+    private static Properties loadHistory() {
+        Properties properties = new Properties();
+        if (Files.exists(HISTORY_FILE)) {
+            try (Reader reader = Files.newBufferedReader(HISTORY_FILE)) {
+                properties.load(reader);
+            } catch (IOException e) {
+                logger.error("Failed to read flake history: {}", e.getMessage());
+            }
+        }
+        return properties;
+    }
+}
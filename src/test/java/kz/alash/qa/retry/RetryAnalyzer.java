@@ -0,0 +1,53 @@
+package kz.alash.qa.retry;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+
+/**
+ * Retries a failed test method in place, with exponential backoff between attempts.
+ * Budget and backoff come from -Dretry.max (default 1) and -Dretry.backoffMs (default 1000).
+ * BaseTest keeps the failed browser session warm, so the retry does not pay for a new browser.
+ */
+public class RetryAnalyzer implements IRetryAnalyzer {
+    private static final Logger logger = LogManager.getLogger(RetryAnalyzer.class);
+    private static final int MAX_RETRIES = Integer.getInteger("retry.max", 1);
+    private static final long BACKOFF_MS = Long.getLong("retry.backoffMs", 1000);
+
+    private int attempts;
+
+    public static boolean isEnabled() {
+        return MAX_RETRIES > 0;
+    }
+
+    public static int getMaxRetries() {
+        return MAX_RETRIES;
+    }
+
+    /**
+     * Delay before the given retry (1-based): -Dretry.backoffMs, doubled for each further retry.
+     */
+    public static long backoffMillis(int retry) {
+        return BACKOFF_MS << (retry - 1);
+    }
+
+    @Override
+    public boolean retry(ITestResult result) {
+        if (attempts >= MAX_RETRIES || FlakeTracker.isQuarantined(result)) {
+            return false;
+        }
+        attempts++;
+        long delay = backoffMillis(attempts);
+        logger.warn("Retrying {} (attempt {} of {}) in {} ms after: {}", result.getMethod().getMethodName(),
+            attempts, MAX_RETRIES, delay,
+            result.getThrowable() == null ? "unknown failure" : result.getThrowable().getMessage());
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,51 @@
+package kz.alash.qa.selection;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs only the tests whose dependencies changed since their last passing run.
+ * Everything else is reported from the {@link TestImpactCache} instead of being executed.
+ * Run with -DforceAll=true to execute the whole suite (the cache is refreshed either way).
+ */
+public class ChangeAwareSelector implements IMethodInterceptor {
+    private static final Logger logger = LogManager.getLogger(ChangeAwareSelector.class);
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        TestImpactCache cache = TestImpactCache.getInstance();
+        cache.enable();
+
+        if (TestImpactCache.isForceAll()) {
+            logger.info("Force all enabled, running {} tests", methods.size());
+            return methods;
+        }
+
+        String browser = context.getCurrentXmlTest().getParameter("browser");
+        if (browser == null) {
+            browser = "chrome";
+        }
+
+        List<IMethodInstance> selected = new ArrayList<>();
+        for (IMethodInstance instance : methods) {
+            String key = TestImpactCache.key(instance.getMethod(), browser);
+            // Data-driven tests also depend on their dataset, which is not fingerprinted: always run them
+            boolean dataDriven = instance.getMethod().getConstructorOrMethod().getMethod().getParameterCount() > 0;
+            if (!dataDriven && cache.isUpToDate(key, instance.getMethod(), context)) {
+                cache.markReplayed(key);
+                logger.info("Unchanged since last pass, replaying cached result: {}", key);
+            } else {
+                selected.add(instance);
+            }
+        }
+
+        logger.info("Change-aware selection: running {} of {} tests", selected.size(), methods.size());
+        return selected;
+    }
+}
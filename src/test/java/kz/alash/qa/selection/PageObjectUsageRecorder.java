@@ -0,0 +1,30 @@
+package kz.alash.qa.selection;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * WebDriver listener that records which page-object classes and methods issue WebDriver calls.
+ * Every call (driver or element) is attributed to the page-object frames on the current stack.
+ */
+public class PageObjectUsageRecorder implements WebDriverListener {
+    private static final String PAGES_PACKAGE = "kz.alash.qa.pages.";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final Set<String> usages;
+
+    public PageObjectUsageRecorder(Set<String> usages) {
+        this.usages = usages;
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        usages.addAll(STACK_WALKER.walk(frames -> frames
+            .filter(frame -> frame.getClassName().startsWith(PAGES_PACKAGE))
+            .map(frame -> frame.getClassName() + "#" + frame.getMethodName())
+            .collect(Collectors.toSet())));
+    }
+}
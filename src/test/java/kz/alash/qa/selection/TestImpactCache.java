@@ -0,0 +1,275 @@
+package kz.alash.qa.selection;
+
+import kz.alash.qa.pages.LoginPage;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Remembers, per test, which page-object methods it exercised and a fingerprint of everything
+ * it depends on: the bytecode of the test class, its superclasses and of those page objects, the
+ * shared test infrastructure (every other class and resource in the test output, e.g. BaseTest,
+ * listeners, visual baselines), the suite configuration and the target base URL. A test whose
+ * fingerprint is unchanged and that passed last time does not need to run again.
+ */
+public class TestImpactCache {
+    private static final Logger logger = LogManager.getLogger(TestImpactCache.class);
+    private static final Path CACHE_FILE = Paths.get("test-output/.test-impact/cache.properties");
+    private static final TestImpactCache INSTANCE = new TestImpactCache();
+
+    private final Properties entries = new Properties();
+    private final Map<String, String> classHashes = new ConcurrentHashMap<>();
+    private final List<String> replayed = Collections.synchronizedList(new ArrayList<>());
+    private final Set<String> recordedThisRun = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<Set<String>> currentUsages = new ThreadLocal<>();
+    private volatile String infrastructureHash;
+    private volatile boolean enabled;
+
+    private TestImpactCache() {
+        if (Files.exists(CACHE_FILE)) {
+            try (Reader reader = Files.newBufferedReader(CACHE_FILE)) {
+                entries.load(reader);
+                logger.info("Loaded test impact cache: {}", CACHE_FILE);
+            } catch (IOException e) {
+                logger.error("Failed to read test impact cache, all tests will run: {}", e.getMessage());
+            }
+        }
+    }
+
+    public static TestImpactCache getInstance() {
+        return INSTANCE;
+    }
+
+    public static boolean isForceAll() {
+        return Boolean.getBoolean("forceAll");
+    }
+
+    public static String key(ITestNGMethod method, String browser) {
+        return method.getQualifiedName() + "[" + browser.toLowerCase() + "]";
+    }
+
+    // Set by ChangeAwareSelector; recording is skipped entirely when the selector is not registered
+    void enable() {
+        enabled = true;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns true when the test passed last time and none of its recorded dependencies changed.
+     */
+    boolean isUpToDate(String key, ITestNGMethod method, ITestContext context) {
+        if (!"PASS".equals(entries.getProperty(key + ".status"))) {
+            return false;
+        }
+        String dependencies = entries.getProperty(key + ".dependencies", "");
+        Set<String> usages = dependencies.isEmpty()
+            ? Set.of() : new TreeSet<>(Arrays.asList(dependencies.split(",")));
+        return fingerprint(method, context, usages).equals(entries.getProperty(key + ".fingerprint"));
+    }
+
+    void markReplayed(String key) {
+        replayed.add(key);
+    }
+
+    public List<String> getReplayed() {
+        return new ArrayList<>(replayed);
+    }
+
+    public Set<String> startRecording() {
+        Set<String> usages = ConcurrentHashMap.newKeySet();
+        currentUsages.set(usages);
+        return usages;
+    }
+
+    public void finishRecording(ITestResult result, String browser) {
+        Set<String> usages = currentUsages.get();
+        currentUsages.remove();
+        if (usages == null) {
+            return;
+        }
+        // Only the final attempt counts; a failed attempt that is retried is not a result
+        if (result.wasRetried()) {
+            return;
+        }
+
+        String key = key(result.getMethod(), browser);
+        String status = result.getStatus() == ITestResult.SUCCESS ? "PASS" : "FAIL";
+        Set<String> sortedUsages = new TreeSet<>(usages);
+        synchronized (entries) {
+            // Data-driven methods record once per invocation: merge, and any failure wins
+            if (!recordedThisRun.add(key)) {
+                String previous = entries.getProperty(key + ".dependencies", "");
+                if (!previous.isEmpty()) {
+                    sortedUsages.addAll(Arrays.asList(previous.split(",")));
+                }
+                if ("FAIL".equals(entries.getProperty(key + ".status"))) {
+                    status = "FAIL";
+                }
+            }
+            entries.setProperty(key + ".status", status);
+            entries.setProperty(key + ".dependencies", String.join(",", sortedUsages));
+            entries.setProperty(key + ".fingerprint",
+                fingerprint(result.getMethod(), result.getTestContext(), sortedUsages));
+        }
+        logger.debug("Recorded {} page-object dependencies for {}", sortedUsages.size(), key);
+    }
+
+    public void save() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Files.createDirectories(CACHE_FILE.getParent());
+            try (Writer writer = Files.newBufferedWriter(CACHE_FILE)) {
+                synchronized (entries) {
+                    entries.store(writer, "Test impact cache - delete or run with -DforceAll=true to rerun everything");
+                }
+            }
+            logger.info("Test impact cache saved: {}", CACHE_FILE);
+        } catch (IOException e) {
+            logger.error("Failed to save test impact cache: {}", e.getMessage());
+        }
+    }
+
+    private String fingerprint(ITestNGMethod method, ITestContext context, Set<String> usages) {
+        MessageDigest digest = sha256();
+        update(digest, context.getSuite().getXmlSuite().toXml());
+        update(digest, LoginPage.URL);
+        for (Class<?> type = method.getRealClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            update(digest, hashClass(type.getName()));
+        }
+        update(digest, infrastructureHash(method.getRealClass()));
+
+        // Usages are "Class#method"; bytecode is fingerprinted per class
+        Set<String> classes = new TreeSet<>();
+        for (String usage : usages) {
+            classes.add(topLevelClass(usage.substring(0, usage.indexOf('#'))));
+        }
+        for (String className : classes) {
+            update(digest, className);
+            update(digest, hashClass(className));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private String hashClass(String className) {
+        return classHashes.computeIfAbsent(className, name -> {
+            String resource = name.replace('.', '/') + ".class";
+            try (InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream(resource)) {
+                if (in == null) {
+                    return "missing";
+                }
+                return HexFormat.of().formatHex(sha256().digest(in.readAllBytes()));
+            } catch (IOException e) {
+                logger.warn("Failed to read bytecode of {}: {}", name, e.getMessage());
+                return "unreadable";
+            }
+        });
+    }
+
+    /**
+     * Hash of everything in the test output (classes directory or jar) outside the tests package.
+     * Test classes themselves are fingerprinted individually so one changed test does not rerun all.
+     */
+    private String infrastructureHash(Class<?> testClass) {
+        String hash = infrastructureHash;
+        if (hash == null) {
+            synchronized (this) {
+                if (infrastructureHash == null) {
+                    infrastructureHash = computeInfrastructureHash(testClass);
+                }
+                hash = infrastructureHash;
+            }
+        }
+        return hash;
+    }
+
+    private static String computeInfrastructureHash(Class<?> testClass) {
+        String testsPackage = testClass.getPackageName().replace('.', '/') + "/";
+        MessageDigest digest = sha256();
+        try {
+            Path location = Paths.get(testClass.getProtectionDomain().getCodeSource().getLocation().toURI());
+            if (Files.isDirectory(location)) {
+                List<Path> files;
+                try (Stream<Path> walk = Files.walk(location)) {
+                    files = walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+                }
+                for (Path file : files) {
+                    String entry = location.relativize(file).toString().replace('\\', '/');
+                    if (!entry.startsWith(testsPackage)) {
+                        update(digest, entry);
+                        digest.update(Files.readAllBytes(file));
+                    }
+                }
+            } else {
+                try (JarFile jar = new JarFile(location.toFile())) {
+                    List<JarEntry> jarEntries = Collections.list(jar.entries());
+                    jarEntries.sort(Comparator.comparing(JarEntry::getName));
+                    for (JarEntry entry : jarEntries) {
+                        if (!entry.isDirectory() && !entry.getName().startsWith(testsPackage)) {
+                            update(digest, entry.getName());
+                            try (InputStream in = jar.getInputStream(entry)) {
+                                digest.update(in.readAllBytes());
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            // Unknown infrastructure state: never matches a stored fingerprint, so everything runs
+            logger.warn("Failed to fingerprint test infrastructure, all tests will run: {}", e.getMessage());
+            return "unreadable-" + System.nanoTime();
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String topLevelClass(String className) {
+        int nested = className.indexOf('$');
+        return nested < 0 ? className : className.substring(0, nested);
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package kz.alash.qa.tests;
 
 import kz.alash.qa.base.BaseTest;
+import kz.alash.qa.data.CustomerRecord;
+import kz.alash.qa.data.CustomerRecord.ExpectedOutcome;
 import kz.alash.qa.pages.*;
 import org.testng.Assert;
+import org.testng.ITestContext;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.util.Iterator;
+
 public class SauceDemoTests extends BaseTest {
 
     // Test Data
@@ -36,7 +42,7 @@ public class SauceDemoTests extends BaseTest {
         logStep("Starting TC-LOGIN-001: Valid Login Test");
 
         // Navigate to login page
-        LoginPage loginPage = new LoginPage(driver);
+        LoginPage loginPage = new LoginPage(getDriver());
         loginPage.navigateToLoginPage();
         logStep("Navigated to SauceDemo login page");
 
@@ -83,7 +89,7 @@ public class SauceDemoTests extends BaseTest {
         logStep("Starting TC-LOGIN-002: Invalid Login Test");
 
         // Navigate to login page
-        LoginPage loginPage = new LoginPage(driver);
+        LoginPage loginPage = new LoginPage(getDriver());
         loginPage.navigateToLoginPage();
         logStep("Navigated to SauceDemo login page");
 
@@ -141,7 +147,7 @@ public class SauceDemoTests extends BaseTest {
         logStep("Starting TC-CART-001: Add and Remove Product from Cart");
 
         // Login first
-        LoginPage loginPage = new LoginPage(driver);
+        LoginPage loginPage = new LoginPage(getDriver());
         loginPage.navigateToLoginPage();
         ProductsPage productsPage = loginPage.performLogin(VALID_USERNAME, VALID_PASSWORD);
         logStep("User logged in successfully");
@@ -195,8 +201,9 @@ public class SauceDemoTests extends BaseTest {
      * 5. Review order on overview page
      * 6. Complete the order
      * 7. Verify order completion
+     * Products, cart, overview and completion pages are also compared against their visual baselines
      * Test Data: username=standard_user, password=secret_sauce, checkout_info={John, Doe, 12345}
-     * Expected Result: Order should be completed successfully
+     * Expected Result: Order should be completed successfully and every page should match its baseline
      * Status: Pass/Fail/Blocked
      */
     @Test(priority = 4, description = "TC-CHECKOUT-001: Verify complete purchase flow")
@@ -204,10 +211,13 @@ public class SauceDemoTests extends BaseTest {
         logStep("Starting TC-CHECKOUT-001: Complete Purchase Flow");
 
         // Login
-        LoginPage loginPage = new LoginPage(driver);
+        LoginPage loginPage = new LoginPage(getDriver());
         loginPage.navigateToLoginPage();
         ProductsPage productsPage = loginPage.performLogin(VALID_USERNAME, VALID_PASSWORD);
         logStep("User logged in successfully");
+        Assert.assertTrue(productsPage.isProductsPageDisplayed(),
+            "Products page should be displayed after login");
+        assertVisualMatch("ProductsPage");
 
         // Add product to cart
         String firstProductName = productsPage.getFirstProductName();
@@ -216,6 +226,9 @@ public class SauceDemoTests extends BaseTest {
 
         // Go to cart and checkout
         CartPage cartPage = productsPage.clickShoppingCart();
+        Assert.assertTrue(cartPage.isCartPageDisplayed(),
+            "Cart page should be displayed");
+        assertVisualMatch("CartPage");
         CheckoutPage checkoutPage = cartPage.clickCheckout();
         logStep("Navigated to checkout page");
 
@@ -228,6 +241,7 @@ public class SauceDemoTests extends BaseTest {
         Assert.assertTrue(overviewPage.isCheckoutOverviewPageDisplayed(),
             "Checkout overview page should be displayed");
         logStep("Checkout overview page displayed");
+        assertVisualMatch("CheckoutOverviewPage");
 
         // Verify order details
         int itemCount = overviewPage.getItemCount();
@@ -245,6 +259,7 @@ public class SauceDemoTests extends BaseTest {
         Assert.assertTrue(completePage.isOrderComplete(),
             "Order should be marked as complete");
         logStep("Order completion verified successfully");
+        assertVisualMatch("CheckoutCompletePage");
 
         // Return to products page
         completePage.clickBackHome();
@@ -254,4 +269,84 @@ public class SauceDemoTests extends BaseTest {
 
         logStep("TC-CHECKOUT-001 completed successfully");
     }
+
+    /**
+     * One lane per data provider thread; each lane streams customer records (CSV or JSONL, see
+     * -DcustomerData) from a shared lazy source, so large datasets never have to fit in memory.
+     * Use -Dshard/-Dshards to split a dataset across CI jobs.
+     */
+    @DataProvider(name = "customers", parallel = true)
+    public Iterator<Object[]> customers(ITestContext context) {
+        return CustomerRecord.lanes(context.getSuite().getXmlSuite().getDataProviderThreadCount());
+    }
+
+    /**
+     * TC-CHECKOUT-002: Data-Driven Checkout
+     * Test Case ID: TC-CHECKOUT-002
+     * Requirement ID: REQ-CHECKOUT-001
+     * Test Case Title: Verify checkout flow for every customer record and SauceDemo user type
+     * Preconditions: User is on login page
+     * Test Steps:
+     * 1. Login with the record's user
+     * 2. Add a product to cart
+     * 3. Go to cart and proceed to checkout
+     * 4. Fill checkout information from the record
+     * 5. Complete the order
+     * Test Data: src/test/resources/data/customers.csv (or -DcustomerData=path)
+     * Expected Result: The record's expectedOutcome (ORDER_COMPLETE, LOGIN_LOCKED_OUT or CHECKOUT_ERROR)
+     * Status: Pass/Fail/Blocked
+     */
+    @Test(priority = 5, dataProvider = "customers",
+        description = "TC-CHECKOUT-002: Verify checkout flow for streamed customer records")
+    public void testCheckoutForCustomer(CustomerRecord.Lane lane) {
+        runRecords(lane::next, this::checkoutForCustomer);
+    }
+
+    private void checkoutForCustomer(CustomerRecord customer) {
+        logStep("Starting TC-CHECKOUT-002 for record " + customer);
+
+        // Login with the record's user
+        LoginPage loginPage = new LoginPage(getDriver());
+        loginPage.navigateToLoginPage();
+        loginPage.enterUsername(customer.getUsername());
+        loginPage.enterPassword(customer.getPassword());
+        loginPage.clickLoginButtonWithoutWait();
+
+        if (customer.getExpectedOutcome() == ExpectedOutcome.LOGIN_LOCKED_OUT) {
+            Assert.assertTrue(loginPage.getErrorMessage().contains("locked out"),
+                "Locked out user should be rejected at login");
+            logStep("Login rejected as expected for " + customer.getUsername());
+            return;
+        }
+
+        ProductsPage productsPage = new ProductsPage(getDriver());
+        Assert.assertTrue(productsPage.isProductsPageDisplayed(),
+            "Products page should be displayed after login");
+        logStep("User logged in: " + customer.getUsername());
+
+        // Add product and go to checkout
+        productsPage.addFirstProductToCart();
+        CheckoutPage checkoutPage = productsPage.clickShoppingCart().clickCheckout();
+
+        // Fill checkout information from the record
+        checkoutPage.enterFirstName(customer.getFirstName());
+        checkoutPage.enterLastName(customer.getLastName());
+        checkoutPage.enterPostalCode(customer.getPostalCode());
+        CheckoutOverviewPage overviewPage = checkoutPage.clickContinue();
+
+        if (customer.getExpectedOutcome() == ExpectedOutcome.CHECKOUT_ERROR) {
+            Assert.assertTrue(checkoutPage.isErrorMessageDisplayed(),
+                "Checkout should reject the customer information");
+            logStep("Checkout rejected as expected: " + checkoutPage.getErrorMessage());
+            return;
+        }
+
+        // Complete the order
+        Assert.assertTrue(overviewPage.isCheckoutOverviewPageDisplayed(),
+            "Checkout overview page should be displayed");
+        CheckoutCompletePage completePage = overviewPage.clickFinish();
+        Assert.assertTrue(completePage.isOrderComplete(),
+            "Order should be marked as complete");
+        logStep("Order completed for record " + customer);
+    }
 }
\ No newline at end of file
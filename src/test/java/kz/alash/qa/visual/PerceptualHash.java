@@ -0,0 +1,61 @@
+package kz.alash.qa.visual;
+
+/**
+ * 64-bit difference hash (dHash) of a screen region. The region is box-averaged down to 9x8
+ * luminance cells and each bit records whether a cell is brighter than its right neighbour.
+ * Small rendering noise (anti-aliasing, font hinting) barely moves the hash, real layout or
+ * content changes flip many bits.
+ */
+public final class PerceptualHash {
+    private static final int HASH_WIDTH = 9;
+    private static final int HASH_HEIGHT = 8;
+
+    private PerceptualHash() {
+    }
+
+    /**
+     * Hashes the region [x, x + width) x [y, y + height) of an ARGB pixel array with the given row stride.
+     */
+    public static long of(int[] pixels, int stride, int x, int y, int width, int height) {
+        double[] cells = new double[HASH_WIDTH * HASH_HEIGHT];
+        for (int cy = 0; cy < HASH_HEIGHT; cy++) {
+            int y0 = y + cy * height / HASH_HEIGHT;
+            int y1 = Math.max(y0 + 1, y + (cy + 1) * height / HASH_HEIGHT);
+            for (int cx = 0; cx < HASH_WIDTH; cx++) {
+                int x0 = x + cx * width / HASH_WIDTH;
+                int x1 = Math.max(x0 + 1, x + (cx + 1) * width / HASH_WIDTH);
+                long sum = 0;
+                for (int py = y0; py < y1; py++) {
+                    int row = py * stride;
+                    for (int px = x0; px < x1; px++) {
+                        sum += luminance(pixels[row + px]);
+                    }
+                }
+                cells[cy * HASH_WIDTH + cx] = (double) sum / ((long) (y1 - y0) * (x1 - x0));
+            }
+        }
+
+        long hash = 0;
+        for (int cy = 0; cy < HASH_HEIGHT; cy++) {
+            for (int cx = 0; cx < HASH_WIDTH - 1; cx++) {
+                hash <<= 1;
+                if (cells[cy * HASH_WIDTH + cx] > cells[cy * HASH_WIDTH + cx + 1]) {
+                    hash |= 1;
+                }
+            }
+        }
+        return hash;
+    }
+
+    public static int distance(long first, long second) {
+        return Long.bitCount(first ^ second);
+    }
+
+    static int luminance(int argb) {
+        int r = (argb >> 16) & 0xFF;
+        int g = (argb >> 8) & 0xFF;
+        int b = argb & 0xFF;
+        // Integer approximation of Rec. 601 luma
+        return (r * 299 + g * 587 + b * 114) / 1000;
+    }
+}
@@ -0,0 +1,134 @@
+package kz.alash.qa.visual;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Stored baseline for one page, browser and viewport. The compact ".phash" file (a small header
+ * plus one 64-bit hash per region, a few hundred bytes) is all that a passing check reads; the
+ * full baseline PNG next to it is only loaded when some region hash differs.
+ */
+public class VisualBaseline {
+    private static final Path BASELINE_PATH = Paths.get("src/test/resources/visual-baselines");
+    // Screenshots of pages without a baseline, for review before they are accepted
+    private static final Path CANDIDATE_PATH = Paths.get("test-output/VisualCandidates");
+    private static final int MAGIC = 0x50484153; // "PHAS"
+    private static final int VERSION = 1;
+
+    private final String key;
+    private final int width;
+    private final int height;
+    private final int columns;
+    private final int rows;
+    private final long[] hashes;
+
+    public VisualBaseline(String key, int width, int height, int columns, int rows, long[] hashes) {
+        this.key = key;
+        this.width = width;
+        this.height = height;
+        this.columns = columns;
+        this.rows = rows;
+        this.hashes = hashes;
+    }
+
+    public static String key(String pageName, String browser, int width, int height) {
+        return pageName + "_" + browser + "_" + width + "x" + height;
+    }
+
+    public static boolean exists(String key) {
+        return Files.exists(hashFile(key));
+    }
+
+    public static VisualBaseline load(String key) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(hashFile(key))))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unsupported visual baseline format: " + hashFile(key));
+            }
+            int width = in.readInt();
+            int height = in.readInt();
+            int columns = in.readInt();
+            int rows = in.readInt();
+            long[] hashes = new long[columns * rows];
+            for (int i = 0; i < hashes.length; i++) {
+                hashes[i] = in.readLong();
+            }
+            return new VisualBaseline(key, width, height, columns, rows, hashes);
+        }
+    }
+
+    /**
+     * Stores this baseline in the source tree; only done when baselines are updated explicitly.
+     */
+    public void save(BufferedImage image) throws IOException {
+        saveTo(BASELINE_PATH, image);
+    }
+
+    /**
+     * Stores this baseline under test-output as a candidate and returns the candidate PNG.
+     */
+    public Path saveCandidate(BufferedImage image) throws IOException {
+        saveTo(CANDIDATE_PATH, image);
+        return CANDIDATE_PATH.resolve(key + ".png");
+    }
+
+    private void saveTo(Path directory, BufferedImage image) throws IOException {
+        Files.createDirectories(directory);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+            Files.newOutputStream(directory.resolve(key + ".phash"))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(width);
+            out.writeInt(height);
+            out.writeInt(columns);
+            out.writeInt(rows);
+            for (long hash : hashes) {
+                out.writeLong(hash);
+            }
+        }
+        ImageIO.write(image, "png", directory.resolve(key + ".png").toFile());
+    }
+
+    public BufferedImage loadImage() throws IOException {
+        BufferedImage image = ImageIO.read(imageFile(key).toFile());
+        if (image == null) {
+            throw new IOException("Baseline image missing: " + imageFile(key));
+        }
+        return image;
+    }
+
+    private static Path hashFile(String key) {
+        return BASELINE_PATH.resolve(key + ".phash");
+    }
+
+    private static Path imageFile(String key) {
+        return BASELINE_PATH.resolve(key + ".png");
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public long[] getHashes() {
+        return hashes;
+    }
+}
@@ -0,0 +1,215 @@
+package kz.alash.qa.visual;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Visual regression check for the current page. The viewport screenshot is split into a grid of
+ * regions and each region gets a 64-bit perceptual hash. Comparing against the stored baseline
+ * is just a Hamming distance per region; only regions whose hash moved get a pixel-by-pixel diff,
+ * computed in parallel, and only those regions produce diff images.
+ */
+public class VisualCheck {
+    private static final Logger logger = LogManager.getLogger(VisualCheck.class);
+    private static final String DIFF_PATH = "test-output/VisualDiffs/";
+    private static final int COLUMNS = 8;
+    private static final int ROWS = 6;
+
+    // Region hashes further apart than this many bits (of 64) get a full pixel diff
+    private static final int HASH_THRESHOLD = Integer.getInteger("visual.hashThreshold", 4);
+    // Per-channel difference below which two pixels count as equal (anti-aliasing noise)
+    private static final int PIXEL_TOLERANCE = 24;
+    // Share of differing pixels above which a region counts as changed
+    private static final double MAX_CHANGED_RATIO = 0.002;
+
+    private VisualCheck() {
+    }
+
+    /**
+     * Compares the current viewport against the baseline for the page, browser and viewport size.
+     * A missing baseline fails the check and leaves the screenshot as a candidate in test-output;
+     * only -DupdateBaselines=true writes baselines (into the source tree, to be committed).
+     */
+    public static Result verify(WebDriver driver, String pageName, String browser) {
+        waitForImages(driver);
+        BufferedImage image = readScreenshot(driver);
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+
+        long start = System.nanoTime();
+        long[] hashes = hashRegions(pixels, width, height);
+        String key = VisualBaseline.key(pageName, browser, width, height);
+
+        try {
+            VisualBaseline current = new VisualBaseline(key, width, height, COLUMNS, ROWS, hashes);
+            if (Boolean.getBoolean("updateBaselines")) {
+                current.save(image);
+                logger.warn("Visual baseline recorded for {}", key);
+                return new Result(true, "Baseline recorded for " + key, Collections.emptyList());
+            }
+            if (!VisualBaseline.exists(key)) {
+                Path candidate = current.saveCandidate(image);
+                logger.error("No visual baseline for {}, candidate written to {}", key, candidate);
+                return new Result(false, "No visual baseline for " + key + " (candidate: " + candidate
+                    + "; review it and run with -DupdateBaselines=true to accept)", Collections.emptyList());
+            }
+
+            VisualBaseline baseline = VisualBaseline.load(key);
+            List<Integer> suspects = new ArrayList<>();
+            boolean sameGrid = baseline.getWidth() == width && baseline.getHeight() == height
+                && baseline.getColumns() == COLUMNS && baseline.getRows() == ROWS;
+            for (int region = 0; region < hashes.length; region++) {
+                if (!sameGrid || PerceptualHash.distance(hashes[region], baseline.getHashes()[region]) > HASH_THRESHOLD) {
+                    suspects.add(region);
+                }
+            }
+            logger.debug("Hash comparison for {} took {} us, {} suspect regions",
+                key, (System.nanoTime() - start) / 1000, suspects.size());
+
+            if (suspects.isEmpty()) {
+                return new Result(true, "Visual match for " + key, Collections.emptyList());
+            }
+            if (!sameGrid) {
+                return new Result(false, "Baseline " + key + " has a different size or region grid", Collections.emptyList());
+            }
+            return diffRegions(key, pixels, width, height, baseline.loadImage(), suspects);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Visual check failed for " + key, e);
+        }
+    }
+
+    private static long[] hashRegions(int[] pixels, int width, int height) {
+        long[] hashes = new long[COLUMNS * ROWS];
+        IntStream.range(0, hashes.length).parallel().forEach(region -> {
+            Region r = region(region, width, height);
+            hashes[region] = PerceptualHash.of(pixels, width, r.x, r.y, r.width, r.height);
+        });
+        return hashes;
+    }
+
+    private static Result diffRegions(String key, int[] pixels, int width, int height,
+                                      BufferedImage baselineImage, List<Integer> suspects) throws IOException {
+        int[] baselinePixels = baselineImage.getRGB(0, 0, width, height, null, 0, width);
+        Files.createDirectories(Paths.get(DIFF_PATH));
+
+        List<String> diffImages = Collections.synchronizedList(new ArrayList<>());
+        suspects.parallelStream().forEach(region -> {
+            Region r = region(region, width, height);
+            BufferedImage diff = new BufferedImage(r.width, r.height, BufferedImage.TYPE_INT_RGB);
+            int changed = 0;
+            for (int y = 0; y < r.height; y++) {
+                int row = (r.y + y) * width + r.x;
+                for (int x = 0; x < r.width; x++) {
+                    int current = pixels[row + x];
+                    if (differs(current, baselinePixels[row + x])) {
+                        changed++;
+                        diff.setRGB(x, y, 0xFF0000);
+                    } else {
+                        // Faded copy of the current screenshot gives context around the red pixels
+                        int faded = 0xC0 + PerceptualHash.luminance(current) / 4;
+                        diff.setRGB(x, y, (faded << 16) | (faded << 8) | faded);
+                    }
+                }
+            }
+
+            if (changed > r.width * r.height * MAX_CHANGED_RATIO) {
+                Path diffFile = Paths.get(DIFF_PATH, key + "_r" + (region / COLUMNS) + "c" + (region % COLUMNS) + ".png");
+                try {
+                    ImageIO.write(diff, "png", diffFile.toFile());
+                    diffImages.add(diffFile.toString());
+                } catch (IOException e) {
+                    logger.error("Failed to write diff image {}: {}", diffFile, e.getMessage());
+                }
+            }
+        });
+
+        if (diffImages.isEmpty()) {
+            return new Result(true, "Visual match for " + key + " (hash differences within pixel tolerance)",
+                Collections.emptyList());
+        }
+        Collections.sort(diffImages);
+        logger.warn("Visual differences for {} in {} of {} regions", key, diffImages.size(), COLUMNS * ROWS);
+        return new Result(false, "Visual differences for " + key + " in " + diffImages.size() + " region(s)", diffImages);
+    }
+
+    private static boolean differs(int first, int second) {
+        return Math.abs(((first >> 16) & 0xFF) - ((second >> 16) & 0xFF)) > PIXEL_TOLERANCE
+            || Math.abs(((first >> 8) & 0xFF) - ((second >> 8) & 0xFF)) > PIXEL_TOLERANCE
+            || Math.abs((first & 0xFF) - (second & 0xFF)) > PIXEL_TOLERANCE;
+    }
+
+    private static Region region(int index, int width, int height) {
+        int column = index % COLUMNS;
+        int row = index / COLUMNS;
+        int x0 = column * width / COLUMNS;
+        int y0 = row * height / ROWS;
+        return new Region(x0, y0, (column + 1) * width / COLUMNS - x0, (row + 1) * height / ROWS - y0);
+    }
+
+    private static void waitForImages(WebDriver driver) {
+        // SauceDemo renders client-side; product images may still be loading after navigation
+        try {
+            new WebDriverWait(driver, Duration.ofSeconds(5)).until(d -> (Boolean) ((JavascriptExecutor) d).executeScript(
+                "return document.readyState === 'complete'"
+                    + " && Array.from(document.images).every(img => img.complete);"));
+        } catch (Exception e) {
+            logger.debug("Page images not fully loaded before visual check");
+        }
+    }
+
+    private static BufferedImage readScreenshot(WebDriver driver) {
+        try {
+            byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            return ImageIO.read(new ByteArrayInputStream(png));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode screenshot", e);
+        }
+    }
+
+    private record Region(int x, int y, int width, int height) {
+    }
+
+    public static class Result {
+        private final boolean matches;
+        private final String summary;
+        private final List<String> diffImages;
+
+        Result(boolean matches, String summary, List<String> diffImages) {
+            this.matches = matches;
+            this.summary = summary;
+            this.diffImages = diffImages;
+        }
+
+        public boolean matches() {
+            return matches;
+        }
+
+        public String getSummary() {
+            return summary;
+        }
+
+        public List<String> getDiffImages() {
+            return diffImages;
+        }
+    }
+}